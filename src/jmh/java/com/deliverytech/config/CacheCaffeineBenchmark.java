@@ -0,0 +1,61 @@
+package com.deliverytech.config;
+
+import com.deliverytech.cache.TwoLevelCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acerto no cache local com a mesma configuração Caffeine da aplicação ({@link CacheConfig#caffeineBuilder}),
+ * direto e atrás do {@link TwoLevelCache}. Roda com várias threads para incluir a contenção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class CacheCaffeineBenchmark {
+
+    private static final int CHAVES = 1_000;
+
+    private Cache caffeine;
+    private Cache doisNiveis;
+
+    @Setup
+    public void preparar() {
+        CacheProperties properties = new CacheProperties();
+        properties.setTamanhoPadrao(CHAVES * 2);
+        caffeine = new CaffeineCache("clientes", CacheConfig.caffeineBuilder(properties, "clientes").build());
+        doisNiveis = new TwoLevelCache("clientes",
+                new CaffeineCache("clientes", CacheConfig.caffeineBuilder(properties, "clientes").build()),
+                new ConcurrentMapCache("remoto"), "benchmark", mensagem -> { });
+        for (long chave = 0; chave < CHAVES; chave++) {
+            caffeine.put(chave, "valor-" + chave);
+            doisNiveis.put(chave, "valor-" + chave);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Chave {
+        long proxima;
+
+        long proxima() {
+            proxima = (proxima + 1) % CHAVES;
+            return proxima;
+        }
+    }
+
+    @Benchmark
+    public Object acertoCaffeine(Chave chave) {
+        return caffeine.get(chave.proxima()).get();
+    }
+
+    @Benchmark
+    public Object acertoDoisNiveis(Chave chave) {
+        return doisNiveis.get(chave.proxima()).get();
+    }
+}
@@ -0,0 +1,53 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidades para os DTOs de resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapeamentoDtoBenchmark {
+
+    @Param({"1", "10", "50"})
+    int itens;
+
+    private Restaurante restaurante;
+    private Pedido pedido;
+
+    @Setup
+    public void preparar() {
+        restaurante = Restaurante.builder().id(1L).nome("Pizzaria").categoria("Pizza").telefone("81999999999")
+                .taxaEntrega(new BigDecimal("5.00")).tempoEntregaMinutos(40).ativo(true).build();
+        pedido = Pedido.builder()
+                .id(1L)
+                .cliente(Cliente.builder().id(1L).nome("Cliente").build())
+                .restaurante(restaurante)
+                .status(StatusPedido.CRIADO)
+                .dataPedido(LocalDateTime.now())
+                .total(new BigDecimal("100.00"))
+                .build();
+        for (long id = 1; id <= itens; id++) {
+            Produto produto = Produto.builder().id(id).nome("Produto " + id).preco(new BigDecimal("19.90")).build();
+            pedido.adicionarItem(ItemPedido.builder().produto(produto).quantidade(1).precoUnitario(produto.getPreco()).build());
+        }
+    }
+
+    @Benchmark
+    public RestauranteResponse restauranteResponse() {
+        return RestauranteResponse.from(restaurante);
+    }
+
+    @Benchmark
+    public PedidoResponse pedidoResponse() {
+        return PedidoResponse.from(pedido);
+    }
+}
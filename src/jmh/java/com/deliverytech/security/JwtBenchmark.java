@@ -0,0 +1,59 @@
+package com.deliverytech.security;
+
+import com.deliverytech.model.Role;
+import com.deliverytech.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de tokens: parse completo (assinatura + claims) contra o
+ * caminho em cache usado pelo {@link JwtAuthenticationFilter} nas requisições seguintes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filtro;
+    private UserDetails userDetails;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil();
+        filtro = new JwtAuthenticationFilter(jwtUtil, username -> {
+            throw new IllegalStateException("Não deveria consultar o banco");
+        }, 10_000);
+        usuario = Usuario.builder().id(1L).email("cliente@teste.com").role(Role.CLIENTE).build();
+        userDetails = User.withUsername(usuario.getEmail()).password("x").authorities("ROLE_CLIENTE").build();
+        token = jwtUtil.generateToken(userDetails, usuario);
+        filtro.verificar(token);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public TokenAutenticado validarToken() {
+        return jwtUtil.autenticar(token);
+    }
+
+    @Benchmark
+    public boolean validarTokenComUserDetails() {
+        return jwtUtil.isTokenValid(token, userDetails);
+    }
+
+    @Benchmark
+    public TokenAutenticado validarTokenEmCache() {
+        return filtro.verificar(token);
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.ItemBuscaResponse;
+import com.deliverytech.dto.response.ResultadoBuscaResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca no índice invertido com um milhão de produtos: termos comuns, prefixos e termos raros,
+ * com e sem filtro de categoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BuscaIndiceBenchmark {
+
+    private static final int TOTAL_PRODUTOS = 1_000_000;
+    private static final String[] PRATOS = {"Pizza", "Hambúrguer", "Sushi", "Temaki", "Pastel", "Esfiha", "Tapioca", "Crepe",
+            "Lasanha", "Risoto", "Salada", "Sanduíche", "Wrap", "Burrito", "Taco", "Yakisoba", "Açaí", "Torta", "Bolo", "Coxinha"};
+    private static final String[] SABORES = {"Calabresa", "Frango", "Catupiry", "Queijo", "Presunto", "Bacon", "Cheddar",
+            "Atum", "Salmão", "Camarão", "Carne", "Costela", "Palmito", "Milho", "Brócolis", "Chocolate", "Morango",
+            "Banana", "Nutella", "Doce de leite", "Portuguesa", "Marguerita", "Napolitana", "Vegano", "Picanha"};
+    private static final String[] CATEGORIAS = {"Pizzas", "Lanches", "Japonesa", "Salgados", "Massas", "Saudável",
+            "Mexicana", "Chinesa", "Sobremesas", "Bebidas", "Porções", "Marmitas"};
+
+    @Param({"pizza calabresa", "piz", "frango catupiry", "camarao", "hamb bacon cheddar"})
+    String consulta;
+
+    @Param({"", "Pizzas"})
+    String categoria;
+
+    private IndiceInvertido indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndiceInvertido(3f, 2f, 1f);
+        Random random = new Random(42);
+        for (long id = 1; id <= TOTAL_PRODUTOS; id++) {
+            String nome = PRATOS[random.nextInt(PRATOS.length)] + " " + SABORES[random.nextInt(SABORES.length)];
+            String descricao = "Com " + SABORES[random.nextInt(SABORES.length)] + " e " + SABORES[random.nextInt(SABORES.length)]
+                    + " da casa " + id % 5000;
+            String cat = CATEGORIAS[random.nextInt(CATEGORIAS.length)];
+            indice.indexar(id, cat, new ItemBuscaResponse(id, nome, cat, id % 10_000, new BigDecimal("29.90"), 0),
+                    nome, cat, descricao);
+        }
+    }
+
+    @Benchmark
+    public ResultadoBuscaResponse buscar() {
+        return indice.buscar(consulta, categoria, 10);
+    }
+}
@@ -0,0 +1,91 @@
+package com.deliverytech.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca dos k restaurantes mais próximos e busca por raio na grade geográfica com cem mil restaurantes
+ * espalhados por uma região metropolitana (~65 x 65 km), comparadas com a varredura de todos os pontos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceGeograficoBenchmark {
+
+    private static final int TOTAL_RESTAURANTES = 100_000;
+    private static final int CONSULTAS = 1024;
+    private static final double LATITUDE_MINIMA = -23.85;
+    private static final double LONGITUDE_MINIMA = -46.90;
+    private static final double LADO_GRAUS = 0.6;
+
+    @Param({"10", "50"})
+    int k;
+
+    private IndiceGeografico<Long> indice;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] consultas;
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndiceGeografico<>(0.02);
+        latitudes = new double[TOTAL_RESTAURANTES];
+        longitudes = new double[TOTAL_RESTAURANTES];
+        Random random = new Random(42);
+        for (int i = 0; i < TOTAL_RESTAURANTES; i++) {
+            latitudes[i] = LATITUDE_MINIMA + random.nextDouble() * LADO_GRAUS;
+            longitudes[i] = LONGITUDE_MINIMA + random.nextDouble() * LADO_GRAUS;
+            indice.indexar(i, latitudes[i], longitudes[i], (long) i);
+        }
+        consultas = new double[CONSULTAS][];
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultas[i] = new double[]{LATITUDE_MINIMA + random.nextDouble() * LADO_GRAUS,
+                    LONGITUDE_MINIMA + random.nextDouble() * LADO_GRAUS};
+        }
+    }
+
+    private double[] proximaConsulta() {
+        return consultas[proxima++ & (CONSULTAS - 1)];
+    }
+
+    @Benchmark
+    public List<IndiceGeografico.Vizinho<Long>> maisProximos() {
+        double[] consulta = proximaConsulta();
+        return indice.maisProximos(consulta[0], consulta[1], k, ProximidadeServiceImpl.RAIO_MAXIMO_KM);
+    }
+
+    @Benchmark
+    public List<IndiceGeografico.Vizinho<Long>> dentroDeCincoKm() {
+        double[] consulta = proximaConsulta();
+        return indice.dentroDoRaio(consulta[0], consulta[1], 5);
+    }
+
+    @Benchmark
+    public List<IndiceGeografico.Vizinho<Long>> varreduraCompleta() {
+        double[] consulta = proximaConsulta();
+        PriorityQueue<IndiceGeografico.Vizinho<Long>> melhores = new PriorityQueue<>(k + 1,
+                Comparator.<IndiceGeografico.Vizinho<Long>>comparingDouble(IndiceGeografico.Vizinho::distanciaKm).reversed());
+        for (int i = 0; i < TOTAL_RESTAURANTES; i++) {
+            double distancia = IndiceGeografico.distanciaKm(consulta[0], consulta[1], latitudes[i], longitudes[i]);
+            if (melhores.size() < k) {
+                melhores.add(new IndiceGeografico.Vizinho<>((long) i, distancia));
+            } else if (distancia < melhores.peek().distanciaKm()) {
+                melhores.poll();
+                melhores.add(new IndiceGeografico.Vizinho<>((long) i, distancia));
+            }
+        }
+        List<IndiceGeografico.Vizinho<Long>> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(Comparator.comparingDouble(IndiceGeografico.Vizinho::distanciaKm));
+        return ordenados;
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do pedido como em POST /api/pedidos: validação dos itens e cálculo do total,
+ * com os produtos já carregados (sem banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MontagemPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    int itens;
+
+    private Cliente cliente;
+    private PedidoRequest request;
+    private Map<Long, Produto> produtos;
+
+    @Setup
+    public void preparar() {
+        Restaurante restaurante = Restaurante.builder().id(1L).nome("Pizzaria").categoria("Pizza").ativo(true).build();
+        cliente = Cliente.builder().id(1L).nome("Cliente").email("cliente@teste.com").ativo(true).build();
+        produtos = new HashMap<>();
+        List<ItemPedidoRequest> itensRequest = new ArrayList<>();
+        for (long id = 1; id <= itens; id++) {
+            produtos.put(id, Produto.builder().id(id).nome("Produto " + id).preco(new BigDecimal("19.90"))
+                    .disponivel(true).restaurante(restaurante).build());
+            itensRequest.add(new ItemPedidoRequest(id, 2));
+        }
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setCidade("Recife");
+        request = new PedidoRequest(cliente.getId(), restaurante.getId(), endereco, itensRequest);
+    }
+
+    @Benchmark
+    public Pedido montarPedido() {
+        return PedidoServiceImpl.montarPedido(cliente, request, produtos);
+    }
+}
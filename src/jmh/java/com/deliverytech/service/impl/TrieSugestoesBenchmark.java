@@ -0,0 +1,54 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.SugestaoResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletar na trie de sugestões com cem mil produtos e dez mil restaurantes, digitando
+ * prefixos de tamanhos diferentes. Rodar com "-prof gc" para confirmar que a consulta não aloca.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrieSugestoesBenchmark {
+
+    private static final int TOTAL_PRODUTOS = 100_000;
+    private static final int TOTAL_RESTAURANTES = 10_000;
+    private static final String[] PRATOS = {"Pizza", "Hambúrguer", "Sushi", "Temaki", "Pastel", "Esfiha", "Tapioca", "Crepe",
+            "Lasanha", "Risoto", "Salada", "Sanduíche", "Wrap", "Burrito", "Taco", "Yakisoba", "Açaí", "Torta", "Bolo", "Coxinha"};
+    private static final String[] SABORES = {"Calabresa", "Frango", "Catupiry", "Queijo", "Presunto", "Bacon", "Cheddar",
+            "Atum", "Salmão", "Camarão", "Carne", "Costela", "Palmito", "Milho", "Brócolis", "Chocolate", "Morango",
+            "Banana", "Nutella", "Doce de leite", "Portuguesa", "Marguerita", "Napolitana", "Vegano", "Picanha"};
+
+    @Param({"p", "piz", "pizza cal", "frango cat", "xyz"})
+    String prefixo;
+
+    private TrieSugestoes trie;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        trie = new TrieSugestoes();
+        Random random = new Random(42);
+        for (long id = 1; id <= TOTAL_PRODUTOS; id++) {
+            String nome = PRATOS[random.nextInt(PRATOS.length)] + " " + SABORES[random.nextInt(SABORES.length)] + " " + id % 500;
+            trie.adicionar("P:" + id, new SugestaoResponse(SugestaoResponse.Tipo.PRODUTO, id, nome, id % TOTAL_RESTAURANTES,
+                    random.nextInt(10_000)));
+        }
+        for (long id = 1; id <= TOTAL_RESTAURANTES; id++) {
+            String nome = "Restaurante " + SABORES[random.nextInt(SABORES.length)] + " " + id;
+            trie.adicionar("R:" + id, new SugestaoResponse(SugestaoResponse.Tipo.RESTAURANTE, id, nome, null, random.nextInt(50_000)));
+        }
+    }
+
+    @Benchmark
+    public List<SugestaoResponse> sugerir() {
+        return trie.sugerir(prefixo);
+    }
+}
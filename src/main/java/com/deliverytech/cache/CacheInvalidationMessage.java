@@ -0,0 +1,13 @@
+package com.deliverytech.cache;
+
+import java.io.Serializable;
+
+/**
+ * Mensagem trocada entre as instâncias da API quando uma entrada de cache muda.
+ *
+ * @param origem identificador da instância que fez a alteração (ela mesma ignora a mensagem)
+ * @param cache  nome do cache afetado
+ * @param chave  chave alterada, ou null quando o cache inteiro foi limpo
+ */
+public record CacheInvalidationMessage(String origem, String cache, Object chave) implements Serializable {
+}
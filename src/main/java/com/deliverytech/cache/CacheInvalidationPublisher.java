@@ -0,0 +1,10 @@
+package com.deliverytech.cache;
+
+/**
+ * Envia mensagens de invalidação para as demais instâncias da API.
+ * Em produção é implementado sobre o pub/sub do Redis (ver CacheConfig).
+ */
+@FunctionalInterface
+public interface CacheInvalidationPublisher {
+    void publicar(CacheInvalidationMessage mensagem);
+}
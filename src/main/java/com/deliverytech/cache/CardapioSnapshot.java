@@ -0,0 +1,41 @@
+package com.deliverytech.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.Serializable;
+
+/**
+ * Cardápio de um restaurante já serializado em JSON, pronto para ser enviado na resposta.
+ *
+ * O snapshot é imutável: o array de bytes é gerado uma vez e compartilhado entre
+ * todas as requisições, por isso nunca deve ser alterado por quem o lê.
+ * O ETag é forte (hash do conteúdo), então muda sempre que o JSON muda.
+ */
+public final class CardapioSnapshot implements Serializable {
+
+    private final Long restauranteId;
+    private final byte[] json;
+    private final String etag;
+
+    private CardapioSnapshot(Long restauranteId, byte[] json, String etag) {
+        this.restauranteId = restauranteId;
+        this.json = json;
+        this.etag = etag;
+    }
+
+    public static CardapioSnapshot de(Long restauranteId, byte[] json) {
+        return new CardapioSnapshot(restauranteId, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    public Long getRestauranteId() {
+        return restauranteId;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
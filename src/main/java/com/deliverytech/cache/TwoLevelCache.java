@@ -0,0 +1,216 @@
+package com.deliverytech.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Cache em dois níveis: um cache local (L1, Caffeine) na frente de um cache
+ * compartilhado entre as instâncias (L2, Redis).
+ *
+ * Leituras consultam o L1 e, em caso de falta, o L2 (preenchendo o L1).
+ * Escritas vão para os dois níveis e publicam uma mensagem de invalidação,
+ * para que as outras instâncias descartem a cópia local desatualizada.
+ *
+ * O preenchimento de uma falta (@Cacheable sem sync chama put) não é uma escrita: o valor veio
+ * da fonte de dados e as cópias das outras instâncias continuam válidas. Esse caminho usa a
+ * visão {@link #paraLeitura()}, que grava nos dois níveis sem publicar (ver TwoLevelCacheResolver).
+ *
+ * O L2 é uma otimização: se o Redis falhar, a operação segue só com o L1 (uma leitura vira falta
+ * e cai no carregador/banco) em vez de propagar o erro. A falha é registrada uma vez, e a volta do
+ * Redis também. Durante a queda as invalidações não chegam às outras instâncias; as cópias delas
+ * ficam limitadas pelo TTL de cada cache.
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+    // Marca a falha do Redis no putIfAbsent, em que null já significa "não havia valor"
+    private static final ValueWrapper SEM_REMOTO = new SimpleValueWrapper(null);
+
+    private final String name;
+    private final Cache local;
+    private final Cache remoto;
+    private final String origem;
+    private final CacheInvalidationPublisher publicador;
+    private final boolean publicarEscritas;
+    private final TwoLevelCache leitura;
+    // Compartilhado com a visão de leitura: evita um log por operação enquanto o Redis estiver fora
+    private final AtomicBoolean remotoIndisponivel;
+
+    public TwoLevelCache(String name, Cache local, Cache remoto, String origem, CacheInvalidationPublisher publicador) {
+        this.name = name;
+        this.local = local;
+        this.remoto = remoto;
+        this.origem = origem;
+        this.publicador = publicador;
+        this.publicarEscritas = true;
+        this.remotoIndisponivel = new AtomicBoolean();
+        this.leitura = new TwoLevelCache(this);
+    }
+
+    // Visão de leitura: compartilha os dois níveis, mas put e putIfAbsent não publicam invalidação
+    private TwoLevelCache(TwoLevelCache escrita) {
+        this.name = escrita.name;
+        this.local = escrita.local;
+        this.remoto = escrita.remoto;
+        this.origem = escrita.origem;
+        this.publicador = escrita.publicador;
+        this.publicarEscritas = false;
+        this.remotoIndisponivel = escrita.remotoIndisponivel;
+        this.leitura = this;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public Cache getLocal() {
+        return local;
+    }
+
+    public Cache getRemoto() {
+        return remoto;
+    }
+
+    /**
+     * @return o mesmo cache, para preencher faltas de leitura sem invalidar as outras instâncias
+     */
+    public TwoLevelCache paraLeitura() {
+        return leitura;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valor = local.get(key);
+        if (valor != null) {
+            return valor;
+        }
+        valor = noRemoto(() -> remoto.get(key), null);
+        if (valor != null) {
+            local.put(key, valor.get());
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        if (valor == null) {
+            return null;
+        }
+        Object conteudo = valor.get();
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // O L1 garante que apenas uma thread desta instância carrega a chave por vez
+        return local.get(key, () -> {
+            ValueWrapper remotoValor = noRemoto(() -> remoto.get(key), null);
+            if (remotoValor != null) {
+                return (T) remotoValor.get();
+            }
+            T valor = valueLoader.call();
+            noRemoto(() -> remoto.put(key, valor));
+            return valor;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        noRemoto(() -> remoto.put(key, value));
+        local.put(key, value);
+        if (publicarEscritas) {
+            publicar(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = noRemoto(() -> remoto.putIfAbsent(key, value), () -> SEM_REMOTO);
+        if (existente == SEM_REMOTO) {
+            return local.putIfAbsent(key, value);
+        }
+        if (existente == null) {
+            local.put(key, value);
+            if (publicarEscritas) {
+                publicar(key);
+            }
+        } else {
+            local.put(key, existente.get());
+        }
+        return existente;
+    }
+
+    @Override
+    public void evict(Object key) {
+        noRemoto(() -> remoto.evict(key));
+        local.evict(key);
+        publicar(key);
+    }
+
+    @Override
+    public void clear() {
+        noRemoto(remoto::clear);
+        local.clear();
+        publicar(null);
+    }
+
+    private void publicar(Object key) {
+        noRemoto(() -> publicador.publicar(new CacheInvalidationMessage(origem, name, key)));
+    }
+
+    private void noRemoto(Runnable operacao) {
+        noRemoto(() -> {
+            operacao.run();
+            return null;
+        }, null);
+    }
+
+    /**
+     * Executa uma operação no Redis; se ela falhar, usa o resultado alternativo (null = falta).
+     */
+    private <T> T noRemoto(Supplier<T> operacao, Supplier<T> seFalhar) {
+        T resultado;
+        try {
+            resultado = operacao.get();
+        } catch (RuntimeException e) {
+            if (remotoIndisponivel.compareAndSet(false, true)) {
+                logger.warn("Cache L2 (Redis) indisponível; o cache '{}' segue só com o L1: {}", name, e.toString());
+            }
+            return seFalhar != null ? seFalhar.get() : null;
+        }
+        if (remotoIndisponivel.get() && remotoIndisponivel.compareAndSet(true, false)) {
+            logger.info("Cache L2 (Redis) disponível novamente para o cache '{}'", name);
+        }
+        return resultado;
+    }
+
+    /**
+     * Aplica uma invalidação recebida de outra instância: descarta apenas a cópia local,
+     * já que o L2 compartilhado foi atualizado por quem publicou a mensagem.
+     */
+    void aplicarInvalidacao(CacheInvalidationMessage mensagem) {
+        if (mensagem.chave() == null) {
+            local.clear();
+        } else {
+            local.evict(mensagem.chave());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+
+/**
+ * Gerenciador dos caches em dois níveis. O conjunto de caches é fixo (definido nas
+ * propriedades deliverytech.cache.caches.*), assim como no CaffeineCacheManager estático.
+ */
+public class TwoLevelCacheManager extends AbstractCacheManager {
+
+    private final Collection<TwoLevelCache> caches;
+    private final String origem;
+
+    public TwoLevelCacheManager(Collection<TwoLevelCache> caches, String origem) {
+        this.caches = caches;
+        this.origem = origem;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches;
+    }
+
+    /**
+     * Recebe uma mensagem de invalidação publicada por qualquer instância.
+     * Mensagens publicadas por esta própria instância são ignoradas.
+     */
+    public void receberInvalidacao(CacheInvalidationMessage mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        Cache cache = getCache(mensagem.cache());
+        if (cache instanceof TwoLevelCache doisNiveis) {
+            doisNiveis.aplicarInvalidacao(mensagem);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entrega a visão de leitura do {@link TwoLevelCache} para as operações @Cacheable.
+ *
+ * Em uma falta, o @Cacheable (sem sync) grava o resultado com put; pela visão de leitura esse put
+ * preenche o L2 e o L1 sem publicar invalidação. Assim uma leitura em uma instância não descarta
+ * o L1 das outras. @CachePut e @CacheEvict continuam recebendo o cache normal e publicam.
+ */
+public class TwoLevelCacheResolver extends SimpleCacheResolver {
+
+    public TwoLevelCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        Collection<? extends Cache> caches = super.resolveCaches(context);
+        if (!(context.getOperation() instanceof CacheableOperation)) {
+            return caches;
+        }
+        List<Cache> leitura = new ArrayList<>(caches.size());
+        for (Cache cache : caches) {
+            leitura.add(cache instanceof TwoLevelCache doisNiveis ? doisNiveis.paraLeitura() : cache);
+        }
+        return leitura;
+    }
+}
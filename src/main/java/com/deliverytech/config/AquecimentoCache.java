@@ -0,0 +1,197 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.CardapioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pré-carrega os caches na inicialização: restaurantes ativos, o cardápio de cada um deles e os
+ * clientes com mais pedidos recentes.
+ *
+ * Roda como ApplicationRunner, e o Spring Boot só marca a aplicação como pronta para receber
+ * tráfego (readiness ACCEPTING_TRAFFIC, /actuator/health/readiness) depois que os runners terminam;
+ * a liveness já está UP, então o orquestrador espera sem reiniciar a instância.
+ * As cargas, inclusive a consulta dos restaurantes, rodam em paralelo e respeitam um orçamento de
+ * tempo: o que não terminar é abandonado e a aplicação fica pronta mesmo assim, com o cache
+ * parcialmente aquecido.
+ * As entradas entram pelo caminho de leitura do cache (get com carregador), e os cardápios são
+ * montados por CardapioService.montarCardapio, fora do @Cacheable: um valor que já esteja no cache
+ * (ex.: no L2 compartilhado) é mantido e nenhuma invalidação é enviada às outras instâncias.
+ * A duração é registrada na métrica deliverytech.cache.aquecimento, com o resultado como tag.
+ */
+@Component
+public class AquecimentoCache implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoCache.class);
+
+    private final CacheManager cacheManager;
+    private final RestauranteRepository restauranteRepository;
+    private final ClienteRepository clienteRepository;
+    private final PedidoRepository pedidoRepository;
+    private final CardapioService cardapioService;
+    private final MeterRegistry meterRegistry;
+    private final CacheProperties.Aquecimento configuracao;
+
+    public AquecimentoCache(CacheManager cacheManager,
+                            RestauranteRepository restauranteRepository,
+                            ClienteRepository clienteRepository,
+                            PedidoRepository pedidoRepository,
+                            CardapioService cardapioService,
+                            MeterRegistry meterRegistry,
+                            CacheProperties properties) {
+        this.cacheManager = cacheManager;
+        this.restauranteRepository = restauranteRepository;
+        this.clienteRepository = clienteRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.cardapioService = cardapioService;
+        this.meterRegistry = meterRegistry;
+        this.configuracao = properties.getAquecimento();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (configuracao.isHabilitado()) {
+            aquecer();
+        }
+    }
+
+    /**
+     * @return como o aquecimento terminou e quantas entradas foram carregadas em cada cache
+     */
+    Resultado aquecer() {
+        long inicio = System.nanoTime();
+        long prazo = inicio + configuracao.getOrcamento().toNanos();
+        AtomicInteger restaurantes = new AtomicInteger();
+        AtomicInteger cardapios = new AtomicInteger();
+        AtomicInteger clientes = new AtomicInteger();
+        String resultado = "completo";
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, configuracao.getParalelismo()),
+                r -> Thread.ofPlatform().name("aquecimento-cache-", 0).daemon().unstarted(r));
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            tarefas.add(executor.submit(() -> aquecerClientes(clientes)));
+            // Os restaurantes vêm em uma consulta só, também dentro do orçamento; cada cardápio vira uma tarefa
+            Future<List<Restaurante>> ativos = executor.submit(() -> aquecerRestaurantes(restaurantes));
+            tarefas.add(ativos);
+            if (aguardar(ativos, prazo)) {
+                Cache cache = cacheManager.getCache("cardapios");
+                for (Restaurante restaurante : ativos.resultNow()) {
+                    tarefas.add(executor.submit(() -> {
+                        cache.get(restaurante.getId(), () -> cardapioService.montarCardapio(restaurante.getId()));
+                        cardapios.incrementAndGet();
+                    }));
+                }
+            }
+            for (Future<?> tarefa : tarefas) {
+                aguardar(tarefa, prazo);
+            }
+            // Tarefas que não terminarem dentro do orçamento são canceladas
+            for (Future<?> tarefa : tarefas) {
+                if (!tarefa.isDone()) {
+                    tarefa.cancel(true);
+                }
+                if (tarefa.isCancelled()) {
+                    resultado = "incompleto";
+                } else if (tarefa.state() == Future.State.FAILED) {
+                    resultado = "falha";
+                    logger.warn("Falha em uma tarefa do aquecimento do cache", tarefa.exceptionNow());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado = "incompleto";
+        } catch (RuntimeException e) {
+            // O aquecimento é uma otimização: uma falha não impede a aplicação de ficar pronta
+            logger.warn("Falha no aquecimento do cache", e);
+            resultado = "falha";
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        Timer.builder("deliverytech.cache.aquecimento")
+                .description("Duração do aquecimento dos caches na inicialização")
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .record(duracao, TimeUnit.NANOSECONDS);
+        logger.info("Aquecimento do cache {} em {} ms: {} restaurantes, {} cardápios, {} clientes",
+                resultado, duracao / 1_000_000, restaurantes.get(), cardapios.get(), clientes.get());
+        return new Resultado(resultado, restaurantes.get(), cardapios.get(), clientes.get());
+    }
+
+    /**
+     * Espera a tarefa até o prazo do aquecimento.
+     *
+     * @return true se a tarefa terminou com sucesso dentro do prazo
+     */
+    private static boolean aguardar(Future<?> tarefa, long prazo) throws InterruptedException {
+        try {
+            tarefa.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            // O resultado da tarefa é avaliado depois, junto com as demais
+            return false;
+        }
+    }
+
+    private List<Restaurante> aquecerRestaurantes(AtomicInteger contador) {
+        if (configuracao.getRestaurantes() <= 0) {
+            return List.of();
+        }
+        List<Restaurante> ativos = restauranteRepository
+                .findByAtivoTrue(PageRequest.of(0, configuracao.getRestaurantes(), Sort.by("id"))).getContent();
+        Cache cache = cacheManager.getCache("restaurantes");
+        for (Restaurante restaurante : ativos) {
+            cache.get(restaurante.getId(), () -> restaurante);
+            contador.incrementAndGet();
+        }
+        return ativos;
+    }
+
+    private void aquecerClientes(AtomicInteger contador) {
+        if (configuracao.getClientes() <= 0) {
+            return;
+        }
+        List<Long> ids = pedidoRepository.clientesMaisAtivos(LocalDateTime.now().minus(configuracao.getJanelaClientes()),
+                PageRequest.of(0, configuracao.getClientes()));
+        Cache porId = cacheManager.getCache("clientes");
+        Cache porEmail = cacheManager.getCache("clientesPorEmail");
+        for (Cliente cliente : clienteRepository.findAllById(ids)) {
+            porId.get(cliente.getId(), () -> cliente);
+            if (cliente.getEmail() != null) {
+                porEmail.get(cliente.getEmail(), () -> cliente);
+            }
+            contador.incrementAndGet();
+        }
+    }
+
+    record Resultado(String resultado, int restaurantes, int cardapios, int clientes) {
+    }
+}
@@ -1,57 +1,195 @@
 package com.deliverytech.config;
 
+import com.deliverytech.cache.CacheInvalidationMessage;
+import com.deliverytech.cache.TwoLevelCache;
+import com.deliverytech.cache.TwoLevelCacheManager;
+import com.deliverytech.cache.TwoLevelCacheResolver;
+import com.deliverytech.event.EventoReplicado;
+import com.deliverytech.event.ReplicadorEventos;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
     /**
      * Define o gerenciador de cache da aplicação, agora utilizando o Caffeine.
      * O Caffeine é uma biblioteca de alta performance que nos dá mais controle
      * sobre o comportamento do cache.
      *
+     * Cada cache declarado em deliverytech.cache.caches.* recebe seu próprio TTL e tamanho.
+     * Este é o modo padrão (só L1); com deliverytech.cache.redis.habilitado=true
+     * o gerenciador em dois níveis de {@link RedisCacheConfig} é usado no lugar.
+     *
      * @return O gerenciador de cache Caffeine configurado.
      */
     // @Bean: Diz ao Spring: "Quando alguém precisar de um CacheManager, execute este método e use o objeto que ele retorna".
     @Bean
-    public CacheManager cacheManager() {
+    @ConditionalOnProperty(prefix = "deliverytech.cache.redis", name = "habilitado", havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager(CacheProperties properties) {
         // Criamos um gerenciador de cache do tipo Caffeine
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
 
-        // Informamos os nomes dos caches que já usamos na aplicação
-        cacheManager.setCacheNames(List.of(
-                "restaurantes",
-                "restaurantesCategoria",
-                "restaurantesPaginados",
-                "clientes" // Boa prática: adicionar o cache de clientes aqui também
-        ));
+        // Informamos os nomes dos caches que a aplicação usa (gerenciador estático)
+        cacheManager.setCacheNames(properties.getCaches().keySet());
 
-        // Aqui está a grande melhoria: configuramos o comportamento do cache!
-        cacheManager.setCaffeine(caffeineBuilder());
+        // E configuramos o comportamento de cada um deles
+        properties.getCaches().keySet().forEach(nome ->
+                cacheManager.registerCustomCache(nome, caffeineBuilder(properties, nome).build()));
 
         return cacheManager;
     }
 
     /**
-     * Construtor de configurações para o cache Caffeine.
+     * Construtor de configurações para o cache Caffeine de um cache específico.
      * @return Uma instância do Caffeine configurada.
      */
-    private Caffeine<Object, Object> caffeineBuilder() {
+    static Caffeine<Object, Object> caffeineBuilder(CacheProperties properties, String nome) {
         return Caffeine.newBuilder()
-                // Define que as entradas do cache expiram 5 minutos após a última escrita/modificação.
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                // Define um tamanho máximo de 100 entradas no cache.
-                .maximumSize(100)
+                // Define que as entradas do cache expiram após o TTL configurado, contado da última escrita.
+                .expireAfterWrite(properties.ttlDe(nome))
+                // Define o número máximo de entradas no cache.
+                .maximumSize(properties.tamanhoDe(nome))
                 // Grava estatísticas de uso do cache (útil para monitoramento).
                 .recordStats();
     }
-}
\ No newline at end of file
+
+    /**
+     * Cache em dois níveis: Caffeine local (L1) na frente do Redis compartilhado (L2),
+     * com invalidação entre as instâncias via pub/sub do Redis. O mesmo canal leva os eventos
+     * replicados pelo {@link ReplicadorEventos}.
+     * As anotações de cache passam pelo {@link TwoLevelCacheResolver}, para que o preenchimento
+     * de uma falta no @Cacheable não publique invalidação.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "deliverytech.cache.redis", name = "habilitado", havingValue = "true")
+    static class RedisCacheConfig implements CachingConfigurer {
+
+        // Identifica esta instância nas mensagens de invalidação
+        private final String origem = UUID.randomUUID().toString();
+
+        // O resolvedor é pedido depois que os beans existem; o provider evita a referência circular
+        private final ObjectProvider<TwoLevelCacheManager> gerenciador;
+
+        RedisCacheConfig(ObjectProvider<TwoLevelCacheManager> gerenciador) {
+            this.gerenciador = gerenciador;
+        }
+
+        @Override
+        public CacheResolver cacheResolver() {
+            return new TwoLevelCacheResolver(gerenciador.getObject());
+        }
+
+        /**
+         * Com o Redis fora do ar, o Lettuce por padrão enfileira os comandos até reconectar e cada
+         * operação de cache esperaria o timeout. Rejeitando os comandos enquanto desconectado, a falha
+         * é imediata e o TwoLevelCache segue só com o L1. Mantém as opções montadas pelo Spring Boot.
+         */
+        @Bean
+        public LettuceClientConfigurationBuilderCustomizer redisFalhaRapida() {
+            return builder -> builder.clientOptions(builder.build().getClientOptions()
+                    .map(ClientOptions::mutate)
+                    .orElseGet(ClientOptions::builder)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .build());
+        }
+
+        @Bean
+        public RedisTemplate<String, Object> cacheInvalidationTemplate(RedisConnectionFactory connectionFactory) {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            // Serialização Java preserva o tipo da chave (Long, String...) entre as instâncias
+            template.setValueSerializer(new JdkSerializationRedisSerializer());
+            return template;
+        }
+
+        @Bean
+        public TwoLevelCacheManager cacheManager(CacheProperties properties, RedisConnectionFactory connectionFactory,
+                                                 RedisTemplate<String, Object> cacheInvalidationTemplate) {
+            Map<String, RedisCacheConfiguration> configuracoes = new HashMap<>();
+            properties.getCaches().keySet().forEach(nome -> configuracoes.put(nome, RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(properties.ttlDe(nome))
+                    .prefixCacheNameWith(properties.getRedis().getPrefixoChave())));
+
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                    .withInitialCacheConfigurations(configuracoes)
+                    .disableCreateOnMissingCache()
+                    .build();
+            redisCacheManager.afterPropertiesSet();
+
+            String canal = properties.getRedis().getCanalInvalidacao();
+            List<TwoLevelCache> caches = new ArrayList<>();
+            for (String nome : properties.getCaches().keySet()) {
+                Cache local = new CaffeineCache(nome, caffeineBuilder(properties, nome).build());
+                caches.add(new TwoLevelCache(nome, local, redisCacheManager.getCache(nome), origem,
+                        mensagem -> cacheInvalidationTemplate.convertAndSend(canal, mensagem)));
+            }
+            return new TwoLevelCacheManager(caches, origem);
+        }
+
+        @Bean
+        public ReplicadorEventos replicadorEventos(RedisTemplate<String, Object> cacheInvalidationTemplate,
+                                                  CacheProperties properties, ApplicationEventPublisher eventPublisher) {
+            String canal = properties.getRedis().getCanalInvalidacao();
+            return new ReplicadorEventos(origem, mensagem -> cacheInvalidationTemplate.convertAndSend(canal, mensagem), eventPublisher);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       TwoLevelCacheManager cacheManager,
+                                                                       ReplicadorEventos replicadorEventos,
+                                                                       CacheProperties properties) {
+            JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) -> {
+                try {
+                    Object mensagem = serializer.deserialize(message.getBody());
+                    if (mensagem instanceof EventoReplicado evento) {
+                        replicadorEventos.receber(evento);
+                    } else {
+                        cacheManager.receberInvalidacao((CacheInvalidationMessage) mensagem);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Mensagem do canal de invalidação ignorada: {}", e.getMessage());
+                }
+            }, new ChannelTopic(properties.getRedis().getCanalInvalidacao()));
+            return container;
+        }
+    }
+}
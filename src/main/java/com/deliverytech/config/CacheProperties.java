@@ -0,0 +1,72 @@
+package com.deliverytech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração dos caches da aplicação (prefixo deliverytech.cache).
+ *
+ * Cada cache declarado em deliverytech.cache.caches.<nome> pode ter TTL e tamanho próprios;
+ * o que não for informado usa os valores padrão.
+ */
+@Data
+@ConfigurationProperties(prefix = "deliverytech.cache")
+public class CacheProperties {
+
+    private Duration ttlPadrao = Duration.ofMinutes(5);
+
+    private long tamanhoPadrao = 100;
+
+    private Map<String, Especificacao> caches = new LinkedHashMap<>();
+
+    private Redis redis = new Redis();
+
+    private Aquecimento aquecimento = new Aquecimento();
+
+    @Data
+    public static class Especificacao {
+        // Tempo de vida da entrada, usado tanto no Caffeine (L1) quanto no Redis (L2)
+        private Duration ttl;
+        // Número máximo de entradas no cache local (L1)
+        private Long tamanhoMaximo;
+    }
+
+    @Data
+    public static class Redis {
+        // Quando habilitado, o Redis passa a ser o segundo nível (L2) compartilhado entre as instâncias
+        private boolean habilitado = false;
+        // Canal pub/sub usado para avisar as outras instâncias sobre invalidações e replicar eventos
+        private String canalInvalidacao = "deliverytech:cache:invalidacao";
+        // Prefixo das chaves gravadas no Redis
+        private String prefixoChave = "deliverytech:";
+    }
+
+    @Data
+    public static class Aquecimento {
+        // Pré-carrega os caches na inicialização, antes de a aplicação ser marcada como pronta (readiness)
+        private boolean habilitado = true;
+        // Restaurantes ativos (e seus cardápios) carregados
+        private int restaurantes = 200;
+        // Clientes com mais pedidos na janela abaixo
+        private int clientes = 500;
+        private Duration janelaClientes = Duration.ofDays(7);
+        // Tempo máximo do aquecimento: o que não terminar é abandonado e a aplicação fica pronta mesmo assim
+        private Duration orcamento = Duration.ofSeconds(30);
+        // Consultas em paralelo (cada uma ocupa uma conexão do pool)
+        private int paralelismo = 4;
+    }
+
+    public Duration ttlDe(String nome) {
+        Especificacao especificacao = caches.get(nome);
+        return especificacao != null && especificacao.getTtl() != null ? especificacao.getTtl() : ttlPadrao;
+    }
+
+    public long tamanhoDe(String nome) {
+        Especificacao especificacao = caches.get(nome);
+        return especificacao != null && especificacao.getTamanhoMaximo() != null ? especificacao.getTamanhoMaximo() : tamanhoPadrao;
+    }
+}
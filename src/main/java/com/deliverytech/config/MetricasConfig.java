@@ -0,0 +1,56 @@
+package com.deliverytech.config;
+
+import com.deliverytech.cache.TwoLevelCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de aplicação expostas em /actuator/prometheus.
+ *
+ * - deliverytech.servico: um timer por classe e método de negócio dos *ServiceImpl (métodos anotados
+ *   com @Timed; ficam de fora os métodos de ciclo de vida, os ouvintes de eventos e o autocompletar).
+ * - spring.data.repository.invocations: um timer por repositório e método, registrado pelo próprio Spring Boot.
+ * - cache.*: estatísticas do Caffeine de cada cache declarado em deliverytech.cache.caches.*.
+ * - http.server.requests: latência por endpoint, com os limites do SLO como buckets.
+ * Histogramas e SLOs são configurados em application.properties (management.metrics.distribution.*).
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Aspecto que cronometra os métodos anotados com @Timed.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * O Spring Boot já publica as estatísticas dos caches do CaffeineCacheManager, mas não conhece o
+     * {@link TwoLevelCache}. Com o Redis habilitado, as estatísticas do L1 (Caffeine) de cada cache
+     * continuam com o mesmo nome e as mesmas tags.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return new TwoLevelCacheMeterBinderProvider();
+    }
+
+    // Classe (e não lambda) para que o Spring Boot resolva o tipo genérico do cache
+    static class TwoLevelCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoLevelCache> {
+
+        @Override
+        public MeterBinder getMeterBinder(TwoLevelCache cache, Iterable<Tag> tags) {
+            if (cache.getLocal() instanceof CaffeineCache local) {
+                return new CaffeineCacheMetrics<>(local.getNativeCache(), cache.getName(), tags);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.deliverytech.config;
+
+import com.deliverytech.event.ReplicadorEventos;
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.model.StatusPedido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Vazão de pedidos por status: o contador deliverytech.pedidos.transicoes é incrementado a cada
+ * pedido que chega em um status (CRIADO conta os pedidos novos).
+ *
+ * Os contadores de todos os status são registrados na inicialização, então a série existe
+ * (com zero) antes da primeira transição e o incremento não consulta o registro.
+ * Só transições confirmadas contam: o evento chega depois do commit. Com várias instâncias, cada
+ * transição é contada só na instância que a fez, não nas que recebem o evento replicado.
+ */
+@Component
+public class MetricasPedidos {
+
+    private final Map<StatusPedido, Counter> transicoes = new EnumMap<>(StatusPedido.class);
+
+    public MetricasPedidos(MeterRegistry meterRegistry) {
+        for (StatusPedido status : StatusPedido.values()) {
+            transicoes.put(status, Counter.builder("deliverytech.pedidos.transicoes")
+                    .description("Pedidos que chegaram ao status")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        if (ReplicadorEventos.eventoReplicado()) {
+            return;
+        }
+        transicoes.get(evento.status()).increment();
+    }
+}
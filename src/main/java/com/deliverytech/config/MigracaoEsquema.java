@@ -0,0 +1,101 @@
+package com.deliverytech.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ajustes de esquema que o ddl-auto=update não faz sozinho, aplicados na inicialização.
+ *
+ * Pedido, ItemPedido e Produto passaram de IDENTITY para sequences em blocos. Em um banco que já tem
+ * registros, o update cria as sequences começando em 1, e os INSERTs colidiriam com os ids
+ * existentes. Cada sequence é avançada para depois do maior id da tabela antes que a aplicação
+ * grave qualquer linha; em um banco novo (ou já ajustado) nada é alterado.
+ *
+ * O nome do produto passou a ser chave natural dentro do restaurante (uk_produto_restaurante_nome).
+ * Se o banco já tem produtos repetidos, o update não consegue criar a constraint e só registra um aviso;
+ * a importação de cardápio depende dela, então a aplicação não sobe e lista os produtos repetidos,
+ * que precisam ser resolvidos à mão (podem estar em pedidos e não são apagados aqui).
+ *
+ * Roda depois do entityManagerFactory (que aplica o update) e antes do servidor web e dos
+ * escritores assíncronos, que só sobem depois que todos os beans foram criados.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class MigracaoEsquema {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracaoEsquema.class);
+    // Deve ser igual ao allocationSize das entidades
+    static final int TAMANHO_BLOCO = 50;
+    // Sequence -> tabela que ela numera
+    private static final Map<String, String> SEQUENCIAS = new LinkedHashMap<>();
+
+    static {
+        SEQUENCIAS.put("pedido_seq", "pedido");
+        SEQUENCIAS.put("item_pedido_seq", "item_pedido");
+        SEQUENCIAS.put("produto_seq", "produto");
+    }
+
+    static final String CHAVE_PRODUTO = "uk_produto_restaurante_nome";
+    // Quantos produtos repetidos aparecem na mensagem de erro
+    private static final int LIMITE_REPETIDOS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MigracaoEsquema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void migrar() {
+        garantirChaveProduto();
+        SEQUENCIAS.forEach(this::ajustarSequencia);
+    }
+
+    void garantirChaveProduto() {
+        Integer existe = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.table_constraints where lower(constraint_name) = ?",
+                Integer.class, CHAVE_PRODUTO);
+        if (existe != null && existe > 0) {
+            return;
+        }
+        List<String> repetidos = jdbcTemplate.query(
+                "select restaurante_id, nome, count(*) from produto group by restaurante_id, nome having count(*) > 1 " +
+                        "order by restaurante_id, nome limit " + LIMITE_REPETIDOS,
+                (rs, linha) -> String.format("restaurante %d, '%s' (%d registros)", rs.getLong(1), rs.getString(2), rs.getLong(3)));
+        if (!repetidos.isEmpty()) {
+            throw new IllegalStateException("Não foi possível criar " + CHAVE_PRODUTO + ": há produtos com o mesmo nome "
+                    + "no mesmo restaurante. Renomeie ou remova os repetidos antes de subir a aplicação: "
+                    + String.join("; ", repetidos));
+        }
+        jdbcTemplate.execute("alter table produto add constraint " + CHAVE_PRODUTO + " unique (nome, restaurante_id)");
+        logger.info("Constraint {} criada", CHAVE_PRODUTO);
+    }
+
+    /**
+     * O otimizador pooled do Hibernate entrega ids a partir de (valor da sequence - tamanho do bloco + 1),
+     * então a sequence precisa estar pelo menos um bloco acima do maior id existente.
+     */
+    void ajustarSequencia(String sequencia, String tabela) {
+        Long maiorId = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+        if (maiorId == null) {
+            return;
+        }
+        Long proximo = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where lower(sequence_name) = ?", Long.class, sequencia);
+        long minimo = maiorId + TAMANHO_BLOCO;
+        if (proximo != null && proximo >= minimo) {
+            return;
+        }
+        // DDL não aceita parâmetros; o valor é um número calculado aqui
+        jdbcTemplate.execute("alter sequence " + sequencia + " restart with " + minimo);
+        logger.info("Sequence {} reiniciada em {} (maior id em {}: {})", sequencia, minimo, tabela, maiorId);
+    }
+}
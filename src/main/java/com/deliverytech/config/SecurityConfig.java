@@ -1,9 +1,12 @@
 package com.deliverytech.config;
 
+import com.deliverytech.security.AcessoPedidos;
 import com.deliverytech.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -24,6 +27,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final AcessoPedidos acessoPedidos;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -45,11 +49,26 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Endpoints Públicos: Acesso liberado para todos
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+                        // Dispatch assíncrono (fim dos streams SSE): a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         // Endpoints de Cliente: ADMIN pode gerenciar, CLIENTE pode se cadastrar
                         .requestMatchers("/api/clientes").hasAnyAuthority("ROLE_ADMIN", "ROLE_CLIENTE")
                         .requestMatchers("/api/clientes/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_CLIENTE")
 
+                        // Mudança de status: restaurante e entregador avançam o pedido; cancelamento também pelo cliente
+                        .requestMatchers(HttpMethod.PATCH, "/api/pedidos/*/status").hasAnyAuthority("ROLE_RESTAURANTE", "ROLE_ENTREGADOR", "ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.PATCH, "/api/pedidos/*/cancelamento").hasAnyAuthority("ROLE_CLIENTE", "ROLE_RESTAURANTE", "ROLE_ADMIN")
+
+                        // Streams de status e painel: só o dono acompanha (o cliente do pedido, o restaurante
+                        // do pedido) ou ADMIN; ver AcessoPedidos
+                        .requestMatchers(HttpMethod.GET, "/api/pedidos/{id}/eventos").access(acessoPedidos::pedido)
+                        .requestMatchers(HttpMethod.GET, "/api/restaurantes/{id}/pedidos/eventos").access(acessoPedidos::restaurante)
+                        .requestMatchers(HttpMethod.GET, "/api/restaurantes/{id}/pedidos/ativos").access(acessoPedidos::restaurante)
+
+                        // Busca por proximidade: qualquer usuário autenticado encontra restaurantes perto de si
+                        .requestMatchers(HttpMethod.GET, "/api/restaurantes/proximos").authenticated()
+
                         // Endpoints de Pedido: Apenas CLIENTE pode criar/ver
                         .requestMatchers("/api/pedidos").hasAuthority("ROLE_CLIENTE")
                         .requestMatchers("/api/pedidos/**").hasAuthority("ROLE_CLIENTE")
@@ -59,6 +78,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/restaurantes/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/produtos").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/produtos/**").hasAuthority("ROLE_ADMIN")
+
+                        // Relatórios de vendas: apenas ADMIN
+                        .requestMatchers("/api/relatorios/**").hasAuthority("ROLE_ADMIN")
                         
                         // Garante que qualquer outra requisição não listada seja bloqueada
                         .anyRequest().authenticated() 
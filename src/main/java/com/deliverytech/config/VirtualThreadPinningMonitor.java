@@ -0,0 +1,77 @@
+package com.deliverytech.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Acompanha, via JFR, os eventos jdk.VirtualThreadPinned: momentos em que uma thread virtual
+ * bloqueou sem liberar a thread portadora (ex.: I/O dentro de synchronized no driver JDBC).
+ * Cada ocorrência incrementa a métrica deliverytech.threads.virtuais.fixadas e é logada
+ * com o topo da pilha, para identificar o trecho responsável.
+ */
+@Component
+@ConditionalOnProperty(prefix = "deliverytech.threads.virtuais", name = "monitorar-fixacao", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int FRAMES_NO_LOG = 8;
+
+    private final Duration limite;
+    private final Counter fixacoes;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${deliverytech.threads.virtuais.limite-fixacao:20ms}") Duration limite) {
+        this.limite = limite;
+        this.fixacoes = Counter.builder("deliverytech.threads.virtuais.fixadas")
+                .description("Vezes em que uma thread virtual ficou presa à thread portadora acima do limite")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(limite).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+        logger.info("Monitor de pinning de threads virtuais ativo (limite de {} ms)", limite.toMillis());
+    }
+
+    private void registrar(RecordedEvent evento) {
+        fixacoes.increment();
+        String pilha = evento.getStackTrace() == null ? "(sem pilha)" : evento.getStackTrace().getFrames().stream()
+                .limit(FRAMES_NO_LOG)
+                .map(VirtualThreadPinningMonitor::formatar)
+                .collect(Collectors.joining("\n\tat "));
+        logger.warn("Thread virtual fixada na portadora por {} ms:\n\tat {}", evento.getDuration().toMillis(), pilha);
+    }
+
+    private static String formatar(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
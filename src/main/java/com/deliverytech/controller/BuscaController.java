@@ -0,0 +1,37 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.BuscaResponse;
+import com.deliverytech.dto.response.SugestaoResponse;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.SugestaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/busca")
+@RequiredArgsConstructor
+@Tag(name = "Busca", description = "Busca textual de restaurantes e produtos")
+public class BuscaController {
+
+    private final BuscaService buscaService;
+    private final SugestaoService sugestaoService;
+
+    @Operation(summary = "Buscar restaurantes e produtos", description = "Busca por texto livre, sem diferenciar acentos e maiúsculas e aceitando o início das palavras. Todos os termos precisam aparecer. Retorna os mais relevantes e a contagem por categoria; 'categoria' filtra o resultado.")
+    @GetMapping
+    public BuscaResponse buscar(@RequestParam("q") String texto,
+                                @RequestParam(required = false) String categoria,
+                                @RequestParam(defaultValue = "10") int limite) {
+        return buscaService.buscar(texto, categoria, limite);
+    }
+
+    @Operation(summary = "Sugestões para o autocompletar", description = "Restaurantes, produtos e categorias cujo nome (ou qualquer palavra do nome) começa pelo texto digitado, sem diferenciar acentos e maiúsculas, dos mais vendidos para os menos vendidos. Servido da memória, para ser chamado a cada tecla.")
+    @GetMapping("/sugestoes")
+    public List<SugestaoResponse> sugestoes(@RequestParam("q") String prefixo,
+                                            @RequestParam(defaultValue = "10") int limite) {
+        return sugestaoService.sugerir(prefixo, limite);
+    }
+}
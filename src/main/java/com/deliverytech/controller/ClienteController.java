@@ -2,6 +2,7 @@ package com.deliverytech.controller;
 
 import com.deliverytech.dto.request.ClienteRequest;
 import com.deliverytech.dto.response.ClienteResponse;
+import com.deliverytech.dto.response.CursorResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Cliente;
 import com.deliverytech.service.ClienteService;
@@ -13,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -48,7 +50,9 @@ public class ClienteController {
             .buildAndExpand(salvo.getId())
             .toUri();
 
-        return ResponseEntity.created(location).body(new ClienteResponse(salvo.getId(), salvo.getNome(), salvo.getEmail(), salvo.getAtivo()));
+        return ResponseEntity.created(location)
+                .eTag(Etags.deVersao(salvo.getVersao()))
+                .body(new ClienteResponse(salvo.getId(), salvo.getNome(), salvo.getEmail(), salvo.getAtivo()));
     }
 
     @Operation(summary = "Lista todos os clientes ativos", description = "Retorna uma lista pagina de todos os clientes comm status ativo.")
@@ -59,16 +63,38 @@ public class ClienteController {
         return clientesPaginados.map(c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()));
     }
     
+    @Operation(summary = "Lista clientes ativos por cursor", description = "Retorna a próxima página de clientes ativos a partir do cursor 'after', sem contagem total. Mais eficiente que a paginação por número de página em listagens longas.")
+    @GetMapping("/cursor")
+    public CursorResponse<ClienteResponse> listarPorCursor(@RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        logger.info("Listando clientes ativos por cursor");
+        Slice<Cliente> slice = clienteService.listarAtivosAPartirDe(CursorResponse.decodificar(after), Math.min(Math.max(size, 1), 100));
+        return CursorResponse.de(slice, c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()), Cliente::getId);
+    }
+
     @Operation(summary = "Busca um cliente por ID", description = "Retorna os detalhes de um cliente específico pelo seu ID.")
     @GetMapping("/{id}")
     public ResponseEntity<ClienteResponse> buscar(@PathVariable Long id) {
         logger.info("Buscando cliente com ID: {}", id);
-        return clienteService.buscarPorId(id)
-                .map(c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()))
-                .map(ResponseEntity::ok)
+        // O cliente vem do cache; se o If-None-Match bater com a versão, a resposta é 304
+        Cliente c = clienteService.buscarPorId(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
+        return ResponseEntity.ok()
+                .eTag(Etags.deVersao(c.getVersao()))
+                .body(new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()));
     }
     
+    @Operation(summary = "Busca um cliente por email", description = "Retorna os detalhes de um cliente específico pelo seu email.")
+    @GetMapping("/email/{email}")
+    public ResponseEntity<ClienteResponse> buscarPorEmail(@PathVariable String email) {
+        logger.info("Buscando cliente com email: {}", email);
+        Cliente c = clienteService.buscarPorEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Cliente com email " + email + " não encontrado"));
+        return ResponseEntity.ok()
+                .eTag(Etags.deVersao(c.getVersao()))
+                .body(new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()));
+    }
+
     @Operation(summary = "Atualiza um cliente", description = "Atualiza os dados de um cliente existente a partir do seu ID.")
     @PutMapping("/{id}")
     public ResponseEntity<ClienteResponse> atualizar(@PathVariable Long id, @Valid @RequestBody ClienteRequest request) {
@@ -80,7 +106,9 @@ public class ClienteController {
                 .build();
 
         Cliente salvo = clienteService.atualizar(id, atualizado);
-        return ResponseEntity.ok(new ClienteResponse(salvo.getId(), salvo.getNome(), salvo.getEmail(), salvo.getAtivo()));
+        return ResponseEntity.ok()
+                .eTag(Etags.deVersao(salvo.getVersao()))
+                .body(new ClienteResponse(salvo.getId(), salvo.getNome(), salvo.getEmail(), salvo.getAtivo()));
     }
 
     @Operation(summary = "Ativa ou desativa um cliente", description = "Altere o status de um, cliente (ativo/inativo) a partir do seu ID.")
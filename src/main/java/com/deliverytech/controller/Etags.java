@@ -0,0 +1,16 @@
+package com.deliverytech.controller;
+
+/**
+ * Monta ETags a partir da coluna de versão (@Version) das entidades.
+ * Como a versão muda a cada escrita, o ETag pode ser calculado sem serializar a resposta,
+ * e o Spring responde 304 automaticamente quando o If-None-Match coincide.
+ */
+final class Etags {
+
+    private Etags() {
+    }
+
+    static String deVersao(Long versao) {
+        return "\"v" + (versao != null ? versao : 0L) + "\"";
+    }
+}
@@ -1,26 +1,31 @@
 package com.deliverytech.controller;
 
 import com.deliverytech.dto.request.PedidoRequest;
-import com.deliverytech.dto.response.ItemPedidoResponse;
-import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.dto.response.PedidoAsyncResponse;
 import com.deliverytech.dto.response.PedidoResponse;
-import com.deliverytech.model.*;
-import com.deliverytech.service.ClienteService;
+import com.deliverytech.dto.response.PedidoResumoResponse;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.NotificacaoPedidoService;
+import com.deliverytech.service.PedidoAsyncService;
 import com.deliverytech.service.PedidoService;
-import com.deliverytech.service.ProdutoService;
-import com.deliverytech.service.RestauranteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.math.BigDecimal;
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/pedidos")
@@ -29,47 +34,14 @@ import java.util.stream.Collectors;
 public class PedidoController {
 
     private final PedidoService pedidoService;
-    private final ClienteService clienteService;
-    private final RestauranteService restauranteService;
-    private final ProdutoService produtoService;
+    private final PedidoAsyncService pedidoAsyncService;
+    private final NotificacaoPedidoService notificacaoPedidoService;
 
     @Operation(summary = "Cria um novo pedido", description = "Cria um novo pedido para um cliente em um restaurante específico.")
     @PostMapping
     public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
-        Cliente cliente = clienteService.buscarPorId(request.getClienteId())
-                .orElseThrow(() -> new EntityNotFoundException("Cliente", request.getClienteId()));
-
-        Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante", request.getRestauranteId()));
-
-        List<ItemPedido> itens = request.getItens().stream().map(itemRequest -> {
-            Produto produto = produtoService.buscarPorId(itemRequest.getProdutoId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado", itemRequest.getProdutoId()));
-            return ItemPedido.builder()
-                    .produto(produto)
-                    .quantidade(itemRequest.getQuantidade())
-                    .precoUnitario(produto.getPreco())
-                    .build();
-        }).collect(Collectors.toList());
-
-        BigDecimal total = itens.stream()
-                .map(i -> i.getPrecoUnitario().multiply(BigDecimal.valueOf(i.getQuantidade())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Pedido pedido = Pedido.builder()
-                .cliente(cliente)
-                .restaurante(restaurante)
-                .status(StatusPedido.CRIADO)
-                .total(total)
-                .enderecoEntrega(request.getEnderecoEntrega())
-                .itens(itens)
-                .build();
-
-        Pedido salvo = pedidoService.criar(pedido);
-       
-        List<ItemPedidoResponse> itensResp = salvo.getItens().stream()
-                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                .collect(Collectors.toList());
+        // Cliente, produtos e restaurante são resolvidos no serviço em uma única passada
+        Pedido salvo = pedidoService.criar(request);
 
         // Retorna 201 Created com a localização do novo recurso
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -77,16 +49,67 @@ public class PedidoController {
             .buildAndExpand(salvo.getId())
             .toUri();  
 
-        PedidoResponse pedidoResponse = new PedidoResponse(
-                salvo.getId(),
-                cliente.getId(),
-                restaurante.getId(),
-                salvo.getEnderecoEntrega(),
-                salvo.getTotal(),
-                salvo.getStatus(),
-                salvo.getDataPedido(),
-                itensResp
-        );
-        return ResponseEntity.created(location).body(pedidoResponse);
+        return ResponseEntity.created(location).body(PedidoResponse.from(salvo));
+    }
+
+    @Operation(summary = "Envia um pedido para processamento assíncrono", description = "Valida a requisição e coloca o pedido na fila de gravação. Retorna 202 com um protocolo para acompanhamento, ou 429 se a fila estiver cheia.")
+    @PostMapping("/async")
+    public ResponseEntity<PedidoAsyncResponse> criarAsync(@Valid @RequestBody PedidoRequest request) {
+        PedidoAsyncResponse aceito = pedidoAsyncService.enfileirar(request);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+            .path("/{protocolo}")
+            .buildAndExpand(aceito.getProtocolo())
+            .toUri();
+
+        return ResponseEntity.accepted().location(location).body(aceito);
+    }
+
+    @Operation(summary = "Consulta um pedido enviado de forma assíncrona", description = "Retorna a situação (PENDENTE, CRIADO ou REJEITADO) do pedido a partir do protocolo recebido no envio.")
+    @GetMapping("/async/{protocolo}")
+    public ResponseEntity<PedidoAsyncResponse> consultarAsync(@PathVariable String protocolo) {
+        return pedidoAsyncService.consultar(protocolo)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EntityNotFoundException("Protocolo " + protocolo + " não encontrado"));
+    }
+
+    @Operation(summary = "Busca um pedido por ID", description = "Retorna o pedido com seus itens, carregados em uma única consulta.")
+    @GetMapping("/{id}")
+    public ResponseEntity<PedidoResponse> buscarPorId(@PathVariable Long id) {
+        return pedidoService.buscarComItens(id)
+                .map(PedidoResponse::from)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
+    }
+
+    @Operation(summary = "Histórico de pedidos do cliente", description = "Retorna uma página com o resumo de cada pedido (restaurante, total, status e data), do mais recente para o mais antigo. O ID desempata pedidos com a mesma data, inclusive com ordenação própria. Aceita ordenar por id, dataPedido, total e status; outros campos retornam 400. Os itens são obtidos em GET /api/pedidos/{id}.")
+    @GetMapping("/cliente/{clienteId}")
+    public Page<PedidoResumoResponse> listarPorCliente(@PathVariable Long clienteId,
+                                                       @PageableDefault(size = 20)
+                                                       @SortDefault.SortDefaults({
+                                                               @SortDefault(sort = "dataPedido", direction = Sort.Direction.DESC),
+                                                               @SortDefault(sort = "id", direction = Sort.Direction.DESC)
+                                                       }) Pageable pageable) {
+        return pedidoService.listarHistoricoCliente(clienteId, pageable);
+    }
+
+    @Operation(summary = "Altera o status de um pedido", description = "Avança o pedido no seu ciclo (CRIADO → CONFIRMADO → EM_PREPARACAO → ENVIADO → ENTREGUE). Transições fora de ordem ou concorrentes retornam 409.")
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<Void> atualizarStatus(@PathVariable Long id, @RequestParam StatusPedido status) {
+        pedidoService.atualizarStatus(id, status);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Cancela um pedido", description = "Cancela o pedido se ele ainda não entrou em preparo. Caso contrário, retorna 409.")
+    @PatchMapping("/{id}/cancelamento")
+    public ResponseEntity<Void> cancelar(@PathVariable Long id) {
+        pedidoService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Acompanha o status de um pedido em tempo real", description = "Abre um stream Server-Sent Events que recebe um evento 'status' a cada mudança do pedido, substituindo o polling em GET /api/pedidos/{id}.")
+    @GetMapping(path = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanhar(@PathVariable Long id) {
+        return notificacaoPedidoService.assinarPedido(id);
     }
 }
@@ -1,23 +1,32 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.cache.CardapioSnapshot;
 import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
 import com.deliverytech.dto.response.ProdutoResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Produto;
 import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.CardapioService;
+import com.deliverytech.service.ImportacaoProdutoService;
 import com.deliverytech.service.ProdutoService;
 import com.deliverytech.service.RestauranteService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -27,6 +36,8 @@ public class ProdutoController {
 
     private final ProdutoService produtoService;
     private final RestauranteService restauranteService;
+    private final CardapioService cardapioService;
+    private final ImportacaoProdutoService importacaoProdutoService;
 
     @Operation(summary = "Cadastra um novo produto", description = "Cria um novo produto e o associa a um restaurante.")
     @PostMapping
@@ -56,16 +67,29 @@ public class ProdutoController {
     }
 
     @Operation(summary = "Listar produtos por restaurante", description = "Retorna uma lista de todos os produtos de um restaurante específico.")
-    @GetMapping("/restaurante/{restauranteId}")
-    public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        // Valida se o restaurante existe antes de listar os produtos
-        if (restauranteService.buscarPorId(restauranteId).isEmpty()){
-            throw new EntityNotFoundException("Restaurante", restauranteId);
-        }
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = ProdutoResponse.class))))
+    @GetMapping(value = "/restaurante/{restauranteId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listarPorRestaurante(@PathVariable Long restauranteId) {
+        // O cardápio vem pronto do cache (JSON já serializado); se o cliente enviar
+        // If-None-Match com o mesmo ETag, o Spring responde 304 sem corpo
+        CardapioSnapshot cardapio = cardapioService.buscarCardapio(restauranteId);
+        return ResponseEntity.ok()
+                .eTag(cardapio.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cardapio.getJson());
+    }
+
+    @Operation(summary = "Importar cardápio em JSON", description = "Importa um array JSON de produtos para o restaurante. Produtos com o mesmo nome são atualizados, os demais inseridos. Linhas inválidas são ignoradas e listadas no relatório.")
+    @PostMapping(value = "/restaurante/{restauranteId}/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportacaoProdutosResponse importarJson(@PathVariable Long restauranteId, InputStream corpo) throws IOException {
+        return importacaoProdutoService.importar(restauranteId, corpo, ImportacaoProdutoService.Formato.JSON);
+    }
 
-        return produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+    @Operation(summary = "Importar cardápio em CSV", description = "Importa um CSV com as colunas nome, categoria, descricao e preco (com cabeçalho). Produtos com o mesmo nome são atualizados, os demais inseridos. Linhas inválidas são ignoradas e listadas no relatório.")
+    @PostMapping(value = "/restaurante/{restauranteId}/importacao", consumes = "text/csv")
+    public ImportacaoProdutosResponse importarCsv(@PathVariable Long restauranteId, InputStream corpo) throws IOException {
+        return importacaoProdutoService.importar(restauranteId, corpo, ImportacaoProdutoService.Formato.CSV);
     }
 
     @Operation(summary = "Atualiza um produto", description = "Atualiza os dados de um produto existente a partir do seu ID.")
@@ -0,0 +1,85 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.FaturamentoDiarioResponse;
+import com.deliverytech.dto.response.ProdutoVendidoResponse;
+import com.deliverytech.dto.response.TicketMedioResponse;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.ExportacaoPedidoService;
+import com.deliverytech.service.RelatorioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/relatorios")
+@RequiredArgsConstructor
+@Tag(name = "Relatórios", description = "Relatórios de vendas sobre os pedidos")
+public class RelatorioController {
+
+    private final RelatorioService relatorioService;
+    private final ExportacaoPedidoService exportacaoPedidoService;
+
+    @Operation(summary = "Faturamento diário", description = "Pedidos, faturamento e ticket médio por dia e restaurante no período (datas inclusivas). Pedidos cancelados não entram.")
+    @GetMapping("/faturamento-diario")
+    public List<FaturamentoDiarioResponse> faturamentoDiario(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                                                             @RequestParam(required = false) Long restauranteId) {
+        return relatorioService.faturamentoDiario(inicio, fim, restauranteId);
+    }
+
+    @Operation(summary = "Ticket médio", description = "Quantidade de pedidos, faturamento e ticket médio do período. Pedidos cancelados não entram.")
+    @GetMapping("/ticket-medio")
+    public TicketMedioResponse ticketMedio(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                                           @RequestParam(required = false) Long restauranteId) {
+        return relatorioService.ticketMedio(inicio, fim, restauranteId);
+    }
+
+    @Operation(summary = "Produtos mais vendidos", description = "Ranking de produtos pela quantidade vendida no período.")
+    @GetMapping("/produtos-mais-vendidos")
+    public List<ProdutoVendidoResponse> produtosMaisVendidos(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                                                             @RequestParam(required = false) Long restauranteId,
+                                                             @RequestParam(defaultValue = "10") int limite) {
+        return relatorioService.produtosMaisVendidos(inicio, fim, restauranteId, limite);
+    }
+
+    @Operation(summary = "Funil de status", description = "Quantidade de pedidos do período em cada status.")
+    @GetMapping("/funil-status")
+    public Map<StatusPedido, Long> funilStatus(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                                               @RequestParam(required = false) Long restauranteId) {
+        return relatorioService.funilStatus(inicio, fim, restauranteId);
+    }
+
+    @Operation(summary = "Exportar pedidos", description = "Exporta os pedidos do período (datas inclusivas) com seus itens, em CSV (uma linha por item) ou NDJSON (um pedido por linha). O arquivo é gerado enquanto é transmitido, sem limite de período.")
+    @GetMapping("/pedidos/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                                                                 @RequestParam(defaultValue = "CSV") ExportacaoPedidoService.Formato formato) {
+        // Validado antes de começar a transmitir: depois disso o status da resposta já foi enviado
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("A data final não pode ser anterior à data inicial");
+        }
+        boolean csv = formato == ExportacaoPedidoService.Formato.CSV;
+        String arquivo = "pedidos-" + inicio + "-" + fim + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody corpo = saida -> exportacaoPedidoService.exportar(inicio, fim, formato, saida);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+}
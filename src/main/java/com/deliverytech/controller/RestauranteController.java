@@ -1,9 +1,16 @@
 package com.deliverytech.controller;
 
 import com.deliverytech.dto.request.RestauranteRequest;
+import com.deliverytech.dto.response.CursorResponse;
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.dto.response.RestauranteProximoResponse;
 import com.deliverytech.dto.response.RestauranteResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.NotificacaoPedidoService;
+import com.deliverytech.service.PainelPedidosService;
+import com.deliverytech.service.ProximidadeService;
 import com.deliverytech.service.RestauranteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,12 +18,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,6 +37,9 @@ import java.util.stream.Collectors;
 public class RestauranteController {
 
     private final RestauranteService restauranteService;
+    private final NotificacaoPedidoService notificacaoPedidoService;
+    private final PainelPedidosService painelPedidosService;
+    private final ProximidadeService proximidadeService;
 
     @Operation(summary = "Cadastrar um novo restaurante", description = "Criar um novo restaurante no sistema.")
     @PostMapping
@@ -36,6 +50,8 @@ public class RestauranteController {
                 .categoria(request.getCategoria())
                 .taxaEntrega(request.getTaxaEntrega())
                 .tempoEntregaMinutos(request.getTempoEntregaMinutos())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .ativo(true)
                 .build();
         Restaurante salvo = restauranteService.cadastrar(restaurante);
@@ -46,36 +62,56 @@ public class RestauranteController {
             .buildAndExpand(salvo.getId())
             .toUri();
 
-        return ResponseEntity.created(location).body(new RestauranteResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(),
-                salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+        return ResponseEntity.created(location)
+                .eTag(Etags.deVersao(salvo.getVersao()))
+                .body(RestauranteResponse.from(salvo));
     }
 
     @Operation(summary = "Listar todos os restaurantes", description = "Retorna uma lista paginada de todos os restaurantes.")
     @GetMapping
     public Page<RestauranteResponse> listarTodos(Pageable pageable) {
         Page<Restaurante> restaurantesPaginados = restauranteService.listarTodos(pageable);
-        return restaurantesPaginados.map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()));
+        return restaurantesPaginados.map(RestauranteResponse::from);
+    }
+
+    @Operation(summary = "Listar restaurantes por cursor", description = "Retorna a próxima página de restaurantes a partir do cursor 'after', sem contagem total. Mais eficiente que a paginação por número de página em listagens longas.")
+    @GetMapping("/cursor")
+    public CursorResponse<RestauranteResponse> listarPorCursor(@RequestParam(required = false) String after,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        Slice<Restaurante> slice = restauranteService.listarTodosAPartirDe(CursorResponse.decodificar(after), Math.min(Math.max(size, 1), 100));
+        return CursorResponse.de(slice, RestauranteResponse::from, Restaurante::getId);
+    }
+
+    @Operation(summary = "Restaurantes próximos", description = "Retorna os restaurantes ativos a até 'raioKm' da posição informada. Por padrão ordena pelo tempo estimado (tempo de entrega do restaurante + deslocamento); com ordem=DISTANCIA, os mais perto primeiro.")
+    @GetMapping("/proximos")
+    public List<RestauranteProximoResponse> proximos(@RequestParam double lat,
+                                                     @RequestParam double lon,
+                                                     @RequestParam(defaultValue = "5") double raioKm,
+                                                     @RequestParam(defaultValue = "20") int limite,
+                                                     @RequestParam(defaultValue = "TEMPO") ProximidadeService.Ordem ordem) {
+        return proximidadeService.restaurantesProximos(lat, lon, raioKm, limite, ordem);
     }
 
     @Operation(summary = "Buscar um restaurante por ID", description = "Retorna os detalhes de um restaurante específico pelo seu ID.")
     @GetMapping("/{id}")
     public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
-        return restauranteService.buscarPorId(id)
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .map(ResponseEntity::ok)
+        // O restaurante vem do cache; se o If-None-Match bater com a versão, a resposta é 304
+        Restaurante restaurante = restauranteService.buscarPorId(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
+        return ResponseEntity.ok()
+                .eTag(Etags.deVersao(restaurante.getVersao()))
+                .body(RestauranteResponse.from(restaurante));
     }
 
     @Operation(summary = "Busca restaurante por categoria", description = "Retorna uma lista de restaurantes que pertencem a uma categoria específica.")
     @GetMapping("/categoria/{categoria}")
     public List<RestauranteResponse> buscarPorCategoria(@PathVariable String categoria) {
         return restauranteService.buscarPorCategoria(categoria).stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
+                .map(RestauranteResponse::from)
                 .collect(Collectors.toList());
     }
 
-    @Operation(summary = "Atualiza um restaurante", description = "Atualiza os dados de um restaurante existente a partir do seu ID.")
+    @Operation(summary = "Atualiza um restaurante", description = "Atualiza os dados de um restaurante existente a partir do seu ID. Se latitude e longitude forem omitidas, as coordenadas atuais são mantidas.")
     @PutMapping("/{id}")
     public ResponseEntity<RestauranteResponse> atualizar(@PathVariable Long id, @Valid @RequestBody RestauranteRequest request) {
         Restaurante atualizado = Restaurante.builder()
@@ -84,8 +120,24 @@ public class RestauranteController {
                 .categoria(request.getCategoria())
                 .taxaEntrega(request.getTaxaEntrega())
                 .tempoEntregaMinutos(request.getTempoEntregaMinutos())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .build();
         Restaurante salvo = restauranteService.atualizar(id, atualizado);
-        return ResponseEntity.ok(new RestauranteResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(), salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+        return ResponseEntity.ok()
+                .eTag(Etags.deVersao(salvo.getVersao()))
+                .body(RestauranteResponse.from(salvo));
+    }
+
+    @Operation(summary = "Painel de pedidos ativos do restaurante", description = "Retorna os pedidos ainda não entregues nem cancelados, agrupados por status. Servido da memória, sem consultar o histórico de pedidos.")
+    @GetMapping("/{id}/pedidos/ativos")
+    public Map<StatusPedido, List<PedidoAtivoResponse>> pedidosAtivos(@PathVariable Long id) {
+        return painelPedidosService.pedidosAtivos(id);
+    }
+
+    @Operation(summary = "Acompanha os pedidos de um restaurante em tempo real", description = "Abre um stream Server-Sent Events que recebe um evento 'status' para cada pedido criado ou alterado no restaurante.")
+    @GetMapping(path = "/{id}/pedidos/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharPedidos(@PathVariable Long id) {
+        return notificacaoPedidoService.assinarRestaurante(id);
     }
 }
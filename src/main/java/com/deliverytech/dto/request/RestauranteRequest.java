@@ -28,4 +28,13 @@ public class RestauranteRequest {
     @Min(value = 10, message = "O tempo de entrega deve ser de no mínimo 10 minutos")
     @Max(value = 120, message = "O tempo de entrega não pode exceder 120 minutos")
     private Integer tempoEntregaMinutos;
+
+    // Opcionais; sem coordenadas o restaurante não aparece na busca por proximidade
+    @DecimalMin(value = "-90.0", message = "A latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "A latitude deve estar entre -90 e 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "A longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "A longitude deve estar entre -180 e 180")
+    private Double longitude;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaResponse {
+    private ResultadoBuscaResponse restaurantes;
+    private ResultadoBuscaResponse produtos;
+}
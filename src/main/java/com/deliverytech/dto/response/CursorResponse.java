@@ -0,0 +1,55 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.exception.BusinessException;
+import lombok.*;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor (keyset).
+ * O cliente envia o "proximoCursor" recebido no parâmetro "after" para buscar a próxima página.
+ * O cursor é opaco para o cliente: internamente é o último ID da página, codificado em Base64.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private List<T> conteudo;
+    private String proximoCursor;
+    private boolean temMais;
+
+    public static <E, T> CursorResponse<T> de(Slice<E> slice, Function<E, T> mapper, Function<E, Long> id) {
+        List<E> itens = slice.getContent();
+        String proximo = slice.hasNext() && !itens.isEmpty()
+                ? codificar(id.apply(itens.get(itens.size() - 1)))
+                : null;
+        return new CursorResponse<>(itens.stream().map(mapper).toList(), proximo, slice.hasNext());
+    }
+
+    public static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return O último ID visto, ou null quando não há cursor (primeira página).
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith("id:")) {
+                throw new IllegalArgumentException(valor);
+            }
+            return Long.parseLong(valor.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Faturamento de um restaurante em um dia (pedidos cancelados não entram).
+ */
+@Data
+@NoArgsConstructor
+public class FaturamentoDiarioResponse implements Serializable {
+    private LocalDate dia;
+    private Long restauranteId;
+    private String restauranteNome;
+    private Long pedidos;
+    private BigDecimal faturamento;
+    private BigDecimal ticketMedio;
+
+    // Usado pela consulta de agregação (constructor expression); o ticket médio é derivado da soma e da contagem
+    public FaturamentoDiarioResponse(LocalDate dia, Long restauranteId, Long pedidos, BigDecimal faturamento) {
+        this.dia = dia;
+        this.restauranteId = restauranteId;
+        this.pedidos = pedidos;
+        this.faturamento = faturamento;
+        this.ticketMedio = TicketMedioResponse.media(faturamento, pedidos);
+    }
+}
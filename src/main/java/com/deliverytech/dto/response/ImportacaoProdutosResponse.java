@@ -0,0 +1,28 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da importação de produtos: contagens e as linhas rejeitadas com o motivo.
+ * A lista de erros é limitada; totalErros traz a quantidade real.
+ */
+@Data
+@NoArgsConstructor
+public class ImportacaoProdutosResponse {
+    private long linhasLidas;
+    private long inseridos;
+    private long atualizados;
+    private long totalErros;
+    private List<ErroLinha> erros = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private long linha;
+        private String mensagem;
+    }
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Item do resultado da busca. Para restaurantes, restauranteId e preco ficam nulos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBuscaResponse {
+    private Long id;
+    private String nome;
+    private String categoria;
+    private Long restauranteId;
+    private BigDecimal preco;
+    private double relevancia;
+
+    public ItemBuscaResponse comRelevancia(double relevancia) {
+        return new ItemBuscaResponse(id, nome, categoria, restauranteId, preco, relevancia);
+    }
+}
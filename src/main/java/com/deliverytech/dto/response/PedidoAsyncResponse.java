@@ -0,0 +1,33 @@
+package com.deliverytech.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Situação de um pedido enviado pelo modo assíncrono, consultada pelo protocolo devolvido no 202.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PedidoAsyncResponse {
+
+    public enum Situacao { PENDENTE, CRIADO, REJEITADO }
+
+    private String protocolo;
+    private Situacao situacao;
+    private Long pedidoId;
+    private String motivo;
+
+    public static PedidoAsyncResponse pendente(String protocolo) {
+        return new PedidoAsyncResponse(protocolo, Situacao.PENDENTE, null, null);
+    }
+
+    public static PedidoAsyncResponse criado(String protocolo, Long pedidoId) {
+        return new PedidoAsyncResponse(protocolo, Situacao.CRIADO, pedidoId, null);
+    }
+
+    public static PedidoAsyncResponse rejeitado(String protocolo, String motivo) {
+        return new PedidoAsyncResponse(protocolo, Situacao.REJEITADO, null, motivo);
+    }
+}
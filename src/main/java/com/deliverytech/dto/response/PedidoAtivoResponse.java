@@ -0,0 +1,20 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.StatusPedido;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido em andamento no painel do restaurante.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoAtivoResponse {
+    private Long id;
+    private Long restauranteId;
+    private StatusPedido status;
+    private LocalDateTime dataPedido;
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de pedidos: um item do pedido com os dados do pedido repetidos.
+ * Pedidos sem itens aparecem uma vez, com os campos do item nulos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoExportacaoLinha {
+    private Long pedidoId;
+    private LocalDateTime dataPedido;
+    private StatusPedido status;
+    private Long clienteId;
+    private Long restauranteId;
+    private BigDecimal total;
+    private Long produtoId;
+    private Integer quantidade;
+    private BigDecimal precoUnitario;
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
 import com.deliverytech.model.Endereco;
 import lombok.*;
@@ -7,6 +8,7 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -20,4 +22,24 @@ public class PedidoResponse {
     private StatusPedido status;
     private LocalDateTime dataPedido;
     private List<ItemPedidoResponse> itens;
+
+    /**
+     * Monta a resposta a partir de um pedido com os itens e produtos já carregados.
+     */
+    public static PedidoResponse from(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .collect(Collectors.toList());
+
+        return new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itens
+        );
+    }
 }
@@ -0,0 +1,23 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.StatusPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do histórico de pedidos do cliente: só o necessário para a listagem.
+ * Os itens ficam para GET /api/pedidos/{id}, quando o pedido é aberto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoResumoResponse {
+    private Long id;
+    private Long restauranteId;
+    private String restauranteNome;
+    private BigDecimal total;
+    private StatusPedido status;
+    private LocalDateTime dataPedido;
+}
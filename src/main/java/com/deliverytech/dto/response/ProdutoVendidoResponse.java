@@ -0,0 +1,19 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Produto no ranking de mais vendidos: quantidade total e faturamento no período.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoVendidoResponse implements Serializable {
+    private Long produtoId;
+    private String nome;
+    private Long quantidade;
+    private BigDecimal faturamento;
+}
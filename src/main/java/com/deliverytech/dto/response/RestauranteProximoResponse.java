@@ -0,0 +1,29 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Restaurante encontrado na busca por proximidade. O tempo estimado soma o tempo de entrega
+ * informado pelo restaurante ao deslocamento até a posição do cliente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestauranteProximoResponse {
+    private Long id;
+    private String nome;
+    private String categoria;
+    private BigDecimal taxaEntrega;
+    private Integer tempoEntregaMinutos;
+    private Double latitude;
+    private Double longitude;
+    private double distanciaKm;
+    private int tempoEstimadoMinutos;
+
+    public RestauranteProximoResponse comDistancia(double distanciaKm, int tempoEstimadoMinutos) {
+        return new RestauranteProximoResponse(id, nome, categoria, taxaEntrega, tempoEntregaMinutos, latitude, longitude,
+                distanciaKm, tempoEstimadoMinutos);
+    }
+}
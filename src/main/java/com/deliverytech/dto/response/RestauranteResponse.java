@@ -1,5 +1,6 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Restaurante;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -15,4 +16,11 @@ public class RestauranteResponse {
     private BigDecimal taxaEntrega;
     private Integer tempoEntregaMinutos;
     private Boolean ativo;
+    private Double latitude;
+    private Double longitude;
+
+    public static RestauranteResponse from(Restaurante r) {
+        return new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
+                r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(), r.getLatitude(), r.getLongitude());
+    }
 }
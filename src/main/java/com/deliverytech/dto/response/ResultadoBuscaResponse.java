@@ -0,0 +1,19 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado da busca em um tipo de documento: total de encontrados, os mais relevantes
+ * e a contagem por categoria sobre todos os encontrados (facetas).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBuscaResponse {
+    private int total;
+    private List<ItemBuscaResponse> itens;
+    private Map<String, Integer> facetas;
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+/**
+ * Sugestão do autocompletar. Para categorias, id e restauranteId ficam nulos; restauranteId só
+ * é preenchido para produtos. A popularidade é a quantidade de itens vendidos em pedidos não cancelados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoResponse {
+
+    public enum Tipo {
+        RESTAURANTE, PRODUTO, CATEGORIA
+    }
+
+    private Tipo tipo;
+    private Long id;
+    private String texto;
+    private Long restauranteId;
+    private long popularidade;
+
+    public SugestaoResponse comPopularidade(long popularidade) {
+        return new SugestaoResponse(tipo, id, texto, restauranteId, popularidade);
+    }
+}
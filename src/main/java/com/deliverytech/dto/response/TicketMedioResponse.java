@@ -0,0 +1,31 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Totais de um período: quantidade de pedidos, faturamento e ticket médio (pedidos cancelados não entram).
+ */
+@Data
+@NoArgsConstructor
+public class TicketMedioResponse implements Serializable {
+    private Long pedidos;
+    private BigDecimal faturamento;
+    private BigDecimal ticketMedio;
+
+    public TicketMedioResponse(Long pedidos, BigDecimal faturamento) {
+        this.pedidos = pedidos;
+        this.faturamento = faturamento != null ? faturamento : BigDecimal.ZERO;
+        this.ticketMedio = media(this.faturamento, pedidos);
+    }
+
+    static BigDecimal media(BigDecimal total, Long quantidade) {
+        if (total == null || quantidade == null || quantidade == 0) {
+            return BigDecimal.ZERO;
+        }
+        return total.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.event;
+
+import java.io.Serializable;
+
+/**
+ * Evento de aplicação enviado às demais instâncias da API pelo canal pub/sub do Redis.
+ *
+ * @param origem identificador da instância que publicou o evento (ela mesma ignora a mensagem)
+ * @param evento o evento, como foi publicado na instância de origem
+ */
+public record EventoReplicado(String origem, Serializable evento) implements Serializable {
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.event;
+
+import com.deliverytech.model.Produto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Publicado quando um produto é cadastrado, alterado ou importado, com o estado gravado.
+ * Os ouvintes recebem o evento depois do commit da transação que fez a mudança.
+ */
+public record ProdutoSalvoEvent(Long produtoId, Long restauranteId, String nome, String descricao,
+                                String categoria, BigDecimal preco, Boolean disponivel)
+        implements Serializable {
+
+    public static ProdutoSalvoEvent de(Produto produto) {
+        return new ProdutoSalvoEvent(produto.getId(), produto.getRestaurante() != null ? produto.getRestaurante().getId() : null,
+                produto.getNome(), produto.getDescricao(), produto.getCategoria(), produto.getPreco(), produto.getDisponivel());
+    }
+}
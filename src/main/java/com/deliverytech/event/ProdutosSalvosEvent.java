@@ -0,0 +1,12 @@
+package com.deliverytech.event;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Publicado pela importação de cardápio, um por lote gravado, com o estado gravado de cada produto.
+ * Os ouvintes aplicam o lote inteiro de uma vez, em vez de um {@link ProdutoSalvoEvent} por produto.
+ * Os ouvintes recebem o evento depois do commit da transação do lote.
+ */
+public record ProdutosSalvosEvent(Long restauranteId, List<ProdutoSalvoEvent> produtos) implements Serializable {
+}
@@ -0,0 +1,90 @@
+package com.deliverytech.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+/**
+ * Replica entre as instâncias da API os eventos que alimentam estado mantido em memória
+ * (painel de pedidos ativos, streams SSE, índices de busca e de proximidade, sugestões),
+ * pelo mesmo canal pub/sub do Redis da invalidação de cache.
+ * Só existe com o Redis habilitado; com uma instância só, os eventos ficam locais.
+ *
+ * O evento é enviado depois do commit, e a instância que o recebe o publica de novo localmente,
+ * para os mesmos ouvintes. Enquanto isso, {@link #eventoReplicado()} é verdadeiro na thread do
+ * ouvinte: o evento não volta para o canal, e quem conta eventos (métricas) não o conta de novo.
+ *
+ * O pub/sub do Redis entrega no máximo uma vez: a outra instância vê a mudança alguns milissegundos
+ * depois do commit, mas um evento publicado enquanto ela estava desconectada do Redis é perdido,
+ * e ela só o recupera ao ser reiniciada (quando os dados em memória são remontados do banco).
+ */
+public class ReplicadorEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicadorEventos.class);
+    private static final ThreadLocal<Boolean> RECEBENDO = new ThreadLocal<>();
+
+    private final String origem;
+    private final Consumer<EventoReplicado> canal;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReplicadorEventos(String origem, Consumer<EventoReplicado> canal, ApplicationEventPublisher eventPublisher) {
+        this.origem = origem;
+        this.canal = canal;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Verdadeiro enquanto os ouvintes processam um evento recebido de outra instância.
+     */
+    public static boolean eventoReplicado() {
+        return Boolean.TRUE.equals(RECEBENDO.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        enviar(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarRestaurante(RestauranteSalvoEvent evento) {
+        enviar(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        enviar(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProdutos(ProdutosSalvosEvent evento) {
+        enviar(evento);
+    }
+
+    public void receber(EventoReplicado mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        RECEBENDO.set(true);
+        try {
+            eventPublisher.publishEvent(mensagem.evento());
+        } finally {
+            RECEBENDO.remove();
+        }
+    }
+
+    private void enviar(Serializable evento) {
+        if (eventoReplicado()) {
+            return;
+        }
+        try {
+            canal.accept(new EventoReplicado(origem, evento));
+        } catch (RuntimeException e) {
+            // O commit já aconteceu; sem o Redis, as outras instâncias só verão a mudança ao reiniciar
+            logger.warn("Evento {} não replicado para as demais instâncias: {}", evento.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.event;
+
+import com.deliverytech.model.Restaurante;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Publicado quando um restaurante é cadastrado ou alterado, com o estado gravado.
+ * Os ouvintes recebem o evento depois do commit da transação que fez a mudança.
+ */
+public record RestauranteSalvoEvent(Long restauranteId, String nome, String categoria, Boolean ativo,
+                                    BigDecimal taxaEntrega, Integer tempoEntregaMinutos, Double latitude, Double longitude)
+        implements Serializable {
+
+    public static RestauranteSalvoEvent de(Restaurante restaurante) {
+        return new RestauranteSalvoEvent(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(), restaurante.getAtivo(),
+                restaurante.getTaxaEntrega(), restaurante.getTempoEntregaMinutos(), restaurante.getLatitude(), restaurante.getLongitude());
+    }
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.event;
+
+import com.deliverytech.model.StatusPedido;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Publicado sempre que um pedido é criado ou muda de status.
+ * Os ouvintes recebem o evento depois do commit da transação que fez a mudança.
+ * O restaurante pode vir nulo quando não era conhecido em memória por quem publicou;
+ * cada ouvinte resolve o restaurante só se precisar dele.
+ */
+public record StatusPedidoAlteradoEvent(Long pedidoId, Long restauranteId, StatusPedido status, LocalDateTime instante)
+        implements Serializable {
+
+    public StatusPedidoAlteradoEvent comRestaurante(Long restauranteId) {
+        return new StatusPedidoAlteradoEvent(pedidoId, restauranteId, status, instante);
+    }
+}
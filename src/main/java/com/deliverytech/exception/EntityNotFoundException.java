@@ -9,4 +9,12 @@ public class EntityNotFoundException extends BusinessException {
     public EntityNotFoundException(String entityName, Long id) {
         super(String.format("%s com ID %d não encontrado", entityName, id));
     }
+
+    /**
+     * Construtor para buscas por outros identificadores (ex: email).
+     * @param message A mensagem descritiva do erro.
+     */
+    public EntityNotFoundException(String message) {
+        super(message);
+    }
 }
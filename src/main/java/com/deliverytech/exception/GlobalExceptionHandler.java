@@ -1,7 +1,10 @@
 package com.deliverytech.exception;
 
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -38,6 +41,34 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Captura parâmetros de consulta recusados (ParametroInvalidoException) e retorna uma resposta HTTP 400 (Bad Request).
+     */
+    @ExceptionHandler(ParametroInvalidoException.class)
+    public ResponseEntity<ErrorResponse> handleParametroInvalido(ParametroInvalidoException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Parâmetro inválido",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Captura ordenações por campos inexistentes nas listagens paginadas (ex: ?sort=foo) e retorna HTTP 400 (Bad Request).
+     */
+    @ExceptionHandler(PropertyReferenceException.class)
+    public ResponseEntity<ErrorResponse> handlePropertyReference(PropertyReferenceException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Parâmetro inválido",
+            "Não é possível ordenar por '" + ex.getPropertyName() + "'",
+            request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Captura exceções do tipo EntityNotFoundException e retorna uma resposta HTTP 404 (Not Found).
      */
@@ -66,6 +97,53 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Captura falhas de lock otimista (@Version) e retorna HTTP 409 (Conflict):
+     * o recurso foi alterado por outra requisição entre a leitura e a gravação.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflito de dados",
+            "O recurso foi alterado por outra requisição. Recarregue e tente novamente.",
+            request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Captura exceções do tipo SobrecargaException e retorna uma resposta HTTP 429 (Too Many Requests),
+     * com o header Retry-After indicando quando tentar novamente.
+     */
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<ErrorResponse> handleSobrecarga(SobrecargaException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Serviço sobrecarregado",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Captura as demais violações de regra de negócio (BusinessException) e retorna uma resposta HTTP 422 (Unprocessable Entity).
+     * As subclasses mais específicas (não encontrado, conflito) continuam com seus próprios handlers.
+     */
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusiness(BusinessException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.UNPROCESSABLE_ENTITY.value(),
+            "Regra de negócio violada",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     /**
      * Captura exceções genéricas (erros não esperados) e retorna uma resposta HTTP 500 (Internal Server Error).
      * Isso garante que a API nunca exponha stack traces para o cliente.
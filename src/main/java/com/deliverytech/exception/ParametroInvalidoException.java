@@ -0,0 +1,14 @@
+package com.deliverytech.exception;
+
+/**
+ * Exceção para parâmetros de consulta que a API não aceita, como ordenar por um campo que não existe.
+ */
+public class ParametroInvalidoException extends BusinessException {
+
+    /**
+     * @param message A mensagem descritiva do parâmetro recusado.
+     */
+    public ParametroInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.exception;
+
+/**
+ * Exceção para indicar que a aplicação está sem capacidade para aceitar a requisição no momento
+ * (ex.: fila de processamento cheia). O cliente deve tentar novamente mais tarde.
+ */
+public class SobrecargaException extends BusinessException {
+
+    private final long segundosParaNovaTentativa;
+
+    /**
+     * @param message A mensagem descritiva da sobrecarga.
+     * @param segundosParaNovaTentativa Sugestão de espera enviada no header Retry-After.
+     */
+    public SobrecargaException(String message, long segundosParaNovaTentativa) {
+        super(message);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
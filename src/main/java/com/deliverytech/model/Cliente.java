@@ -1,7 +1,9 @@
 package com.deliverytech.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,11 +12,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Cliente {
+public class Cliente implements Serializable {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Incrementada a cada alteração; usada como ETag nas respostas de leitura
+    @Version
+    @ColumnDefault("0")
+    private Long versao;
+
     private String nome;
 
     @Column(unique = true)
@@ -2,13 +2,14 @@ package com.deliverytech.model;
 
 import jakarta.persistence.Embeddable;
 import lombok.*;
+import java.io.Serializable;
 
 @Embeddable
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Endereco {
+public class Endereco implements Serializable {
 
     private String rua;
     private String numero;
@@ -16,4 +17,8 @@ public class Endereco {
     private String cidade;
     private String estado;
     private String cep;
+
+    // Coordenadas em graus decimais (WGS84); opcionais
+    private Double latitude;
+    private Double longitude;
 }
@@ -2,20 +2,30 @@ package com.deliverytech.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Entity
+// Os itens são sempre lidos pelo pedido (fetch join e relatórios de produtos vendidos)
+@Table(indexes = @Index(name = "idx_item_pedido_pedido", columnList = "pedido_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ItemPedido {
+public class ItemPedido implements Serializable {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com alocação em blocos (pooled): permite que o Hibernate agrupe os INSERTs em batch,
+    // o que não acontece com IDENTITY
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
 
+    // Excluído de toString/equals/hashCode para evitar recursão infinita com Pedido.itens
     @ManyToOne
     @JoinColumn(name = "pedido_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Pedido pedido;
 
     @ManyToOne
@@ -2,18 +2,33 @@ package com.deliverytech.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Índices para os padrões de acesso do PedidoRepository: por cliente, por restaurante (+ status),
+// por status e por período. data_pedido fica por último para servir também à ordenação
+@Table(indexes = {
+        @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data_pedido"),
+        @Index(name = "idx_pedido_restaurante_status_data", columnList = "restaurante_id, status, data_pedido"),
+        @Index(name = "idx_pedido_status_data", columnList = "status, data_pedido"),
+        @Index(name = "idx_pedido_data", columnList = "data_pedido")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Pedido {
+public class Pedido implements Serializable {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com alocação em blocos (pooled): permite que o Hibernate agrupe os INSERTs em batch,
+    // o que não acontece com IDENTITY
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -29,11 +44,30 @@ public class Pedido {
     @Enumerated(EnumType.STRING)
     private StatusPedido status;
 
+    // Incrementada a cada mudança de status, inclusive pelo UPDATE condicional do repositório
+    @Version
+    @ColumnDefault("0")
+    private Long versao;
+
+    @Builder.Default
     private LocalDateTime dataPedido = LocalDateTime.now();
 
+    // Última mudança de status (exibida no painel de pedidos ativos); nula em pedidos anteriores à coluna
+    private LocalDateTime atualizadoEm;
+
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL)
-    private List<ItemPedido> itens;
+    @Builder.Default
+    private List<ItemPedido> itens = new ArrayList<>();
 
     @Embedded
     private Endereco enderecoEntrega;
+
+    /**
+     * Adiciona um item ao pedido ligando os dois lados do relacionamento,
+     * para que o cascade grave o item já com o pedido_id preenchido.
+     */
+    public void adicionarItem(ItemPedido item) {
+        item.setPedido(this);
+        itens.add(item);
+    }
 }
@@ -2,16 +2,23 @@ package com.deliverytech.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Entity
+// Nome é a chave natural do produto dentro do restaurante (usada na importação do cardápio).
+// O nome vem primeiro no índice para que "nome in (...)" seja resolvido por busca no índice
+// e não pela varredura de todos os produtos do restaurante
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_produto_restaurante_nome", columnNames = {"nome", "restaurante_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Produto {
+public class Produto implements Serializable {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
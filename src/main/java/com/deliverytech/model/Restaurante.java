@@ -1,7 +1,9 @@
 package com.deliverytech.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.List;
@@ -11,11 +13,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Restaurante {
+public class Restaurante implements Serializable {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Incrementada a cada alteração; usada como ETag nas respostas de leitura
+    @Version
+    @ColumnDefault("0")
+    private Long versao;
+
     private String nome;
 
     private String categoria;
@@ -28,6 +35,11 @@ public class Restaurante {
 
     private Boolean ativo = true;
 
+    // Coordenadas em graus decimais (WGS84), usadas na busca por proximidade
+    private Double latitude;
+
+    private Double longitude;
+
     @OneToMany(mappedBy = "restaurante", cascade = CascadeType.ALL)
     private List<Produto> produtos;
 }
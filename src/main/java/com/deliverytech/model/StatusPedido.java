@@ -1,10 +1,44 @@
 package com.deliverytech.model;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Ciclo de vida do pedido: CRIADO → CONFIRMADO → EM_PREPARACAO → ENVIADO → ENTREGUE.
+ * O cancelamento só é permitido enquanto o restaurante ainda não começou o preparo.
+ */
 public enum StatusPedido {
     CRIADO,
     CONFIRMADO,
     EM_PREPARACAO,
     ENVIADO,
     ENTREGUE,
-    CANCELADO
+    CANCELADO;
+
+    /**
+     * Status a partir dos quais é permitido chegar neste status.
+     * Usado direto na cláusula WHERE do UPDATE condicional.
+     */
+    public Set<StatusPedido> origens() {
+        return switch (this) {
+            case CRIADO -> Collections.emptySet();
+            case CONFIRMADO -> EnumSet.of(CRIADO);
+            case EM_PREPARACAO -> EnumSet.of(CONFIRMADO);
+            case ENVIADO -> EnumSet.of(EM_PREPARACAO);
+            case ENTREGUE -> EnumSet.of(ENVIADO);
+            case CANCELADO -> EnumSet.of(CRIADO, CONFIRMADO);
+        };
+    }
+
+    public boolean podeIrPara(StatusPedido destino) {
+        return destino.origens().contains(this);
+    }
+
+    /**
+     * Pedidos entregues ou cancelados não mudam mais de status.
+     */
+    public boolean isFinal() {
+        return this == ENTREGUE || this == CANCELADO;
+    }
 }
@@ -4,6 +4,7 @@ import com.deliverytech.model.Cliente;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 
@@ -16,4 +17,7 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
     // Retorna uma 'Page' 
     Page<Cliente> findByAtivoTrue(Pageable pageable);
+
+    // Paginação por cursor (keyset): continua a partir do último ID visto, sem OFFSET e sem COUNT(*)
+    Slice<Cliente> findByAtivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
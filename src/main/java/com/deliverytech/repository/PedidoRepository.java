@@ -1,15 +1,189 @@
 package com.deliverytech.repository;
 
+import com.deliverytech.dto.response.FaturamentoDiarioResponse;
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.dto.response.PedidoExportacaoLinha;
+import com.deliverytech.dto.response.PedidoResumoResponse;
+import com.deliverytech.dto.response.ProdutoVendidoResponse;
+import com.deliverytech.dto.response.TicketMedioResponse;
 import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
-    List<Pedido> findByClienteId(Long clienteId);
-    List<Pedido> findByRestauranteId(Long restauranteId);
+    // Filtros por cliente e restaurante escritos em JPQL: p.cliente.id usa direto a coluna cliente_id.
+    // O método derivado (findByClienteId) gerava um LEFT JOIN com filtro na tabela cliente,
+    // o que impedia o uso do índice e fazia varredura completa em pedido
+    @Query("select p from Pedido p where p.cliente.id = :clienteId")
+    List<Pedido> findByClienteId(@Param("clienteId") Long clienteId);
+
+    @Query("select p from Pedido p where p.restaurante.id = :restauranteId")
+    List<Pedido> findByRestauranteId(@Param("restauranteId") Long restauranteId);
+
     List<Pedido> findByStatus(StatusPedido status);
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
+
+    // Consultas paginadas: cada uma é atendida por um dos índices declarados em Pedido.
+    // Cliente e restaurante vêm no mesmo SELECT, sem uma consulta extra por linha
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query(value = "select p from Pedido p where p.cliente.id = :clienteId",
+           countQuery = "select count(p) from Pedido p where p.cliente.id = :clienteId")
+    Page<Pedido> findByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query(value = "select p from Pedido p where p.cliente.id = :clienteId and p.dataPedido between :inicio and :fim",
+           countQuery = "select count(p) from Pedido p where p.cliente.id = :clienteId and p.dataPedido between :inicio and :fim")
+    Page<Pedido> findByClienteIdAndDataPedidoBetween(@Param("clienteId") Long clienteId, @Param("inicio") LocalDateTime inicio,
+                                                     @Param("fim") LocalDateTime fim, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query(value = "select p from Pedido p where p.restaurante.id = :restauranteId and p.dataPedido between :inicio and :fim",
+           countQuery = "select count(p) from Pedido p where p.restaurante.id = :restauranteId and p.dataPedido between :inicio and :fim")
+    Page<Pedido> findByRestauranteIdAndDataPedidoBetween(@Param("restauranteId") Long restauranteId, @Param("inicio") LocalDateTime inicio,
+                                                         @Param("fim") LocalDateTime fim, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query(value = "select p from Pedido p where p.restaurante.id = :restauranteId and p.status = :status " +
+                   "and p.dataPedido between :inicio and :fim",
+           countQuery = "select count(p) from Pedido p where p.restaurante.id = :restauranteId and p.status = :status " +
+                        "and p.dataPedido between :inicio and :fim")
+    Page<Pedido> findByRestauranteIdAndStatusAndDataPedidoBetween(@Param("restauranteId") Long restauranteId,
+                                                                 @Param("status") StatusPedido status,
+                                                                 @Param("inicio") LocalDateTime inicio,
+                                                                 @Param("fim") LocalDateTime fim, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    Page<Pedido> findByStatusAndDataPedidoBetween(StatusPedido status, LocalDateTime inicio, LocalDateTime fim, Pageable pageable);
+
+    // Histórico do cliente em uma única consulta, já no formato da resposta (sem montar entidades)
+    @Query(value = "select new com.deliverytech.dto.response.PedidoResumoResponse(p.id, r.id, r.nome, p.total, p.status, p.dataPedido) " +
+                   "from Pedido p join p.restaurante r where p.cliente.id = :clienteId",
+           countQuery = "select count(p) from Pedido p where p.cliente.id = :clienteId")
+    Page<PedidoResumoResponse> findResumosByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    // Relatórios: agregação feita pelo banco sobre o intervalo [inicio, fim), usando o índice de data_pedido.
+    // Nenhuma entidade é carregada; restauranteId nulo considera todos os restaurantes
+    // Sem join com restaurante: o plano parte do índice de data_pedido (o nome é preenchido pelo serviço)
+    @Query("select new com.deliverytech.dto.response.FaturamentoDiarioResponse(" +
+           "cast(p.dataPedido as LocalDate), p.restaurante.id, count(p), sum(p.total)) " +
+           "from Pedido p " +
+           "where p.dataPedido >= :inicio and p.dataPedido < :fim " +
+           "and p.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "and (:restauranteId is null or p.restaurante.id = :restauranteId) " +
+           "group by cast(p.dataPedido as LocalDate), p.restaurante.id " +
+           "order by cast(p.dataPedido as LocalDate), p.restaurante.id")
+    List<FaturamentoDiarioResponse> faturamentoDiario(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                                      @Param("restauranteId") Long restauranteId);
+
+    @Query("select new com.deliverytech.dto.response.TicketMedioResponse(count(p), sum(p.total)) " +
+           "from Pedido p " +
+           "where p.dataPedido >= :inicio and p.dataPedido < :fim " +
+           "and p.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "and (:restauranteId is null or p.restaurante.id = :restauranteId)")
+    TicketMedioResponse ticketMedio(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                    @Param("restauranteId") Long restauranteId);
+
+    @Query("select new com.deliverytech.dto.response.ProdutoVendidoResponse(" +
+           "pr.id, pr.nome, sum(i.quantidade), sum(i.precoUnitario * i.quantidade)) " +
+           "from ItemPedido i join i.pedido p join i.produto pr " +
+           "where p.dataPedido >= :inicio and p.dataPedido < :fim " +
+           "and p.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "and (:restauranteId is null or p.restaurante.id = :restauranteId) " +
+           "group by pr.id, pr.nome " +
+           "order by sum(i.quantidade) desc, pr.id")
+    List<ProdutoVendidoResponse> produtosMaisVendidos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                                      @Param("restauranteId") Long restauranteId, Pageable limite);
+
+    @Query("select p.status, count(p) from Pedido p " +
+           "where p.dataPedido >= :inicio and p.dataPedido < :fim " +
+           "and (:restauranteId is null or p.restaurante.id = :restauranteId) " +
+           "group by p.status")
+    List<Object[]> contagemPorStatus(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                     @Param("restauranteId") Long restauranteId);
+
+    // Exportação: linhas (pedido x item) lidas sob demanda pelo cursor do banco, em blocos do fetch size.
+    // São projeções, não entidades, então o contexto de persistência não cresce durante a leitura.
+    // Precisa ser consumido dentro de uma transação e fechado ao final (try-with-resources)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.deliverytech.dto.response.PedidoExportacaoLinha(" +
+           "p.id, p.dataPedido, p.status, p.cliente.id, p.restaurante.id, p.total, i.produto.id, i.quantidade, i.precoUnitario) " +
+           "from Pedido p left join p.itens i " +
+           "where p.dataPedido >= :inicio and p.dataPedido < :fim " +
+           "order by p.dataPedido, p.id, i.id")
+    Stream<PedidoExportacaoLinha> streamExportacao(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Carrega o pedido com cliente, restaurante, itens e produtos em um único SELECT
+    @Query("select distinct p from Pedido p " +
+           "join fetch p.cliente " +
+           "join fetch p.restaurante " +
+           "left join fetch p.itens i " +
+           "left join fetch i.produto " +
+           "where p.id = :id")
+    Optional<Pedido> findComItensById(@Param("id") Long id);
+
+    /**
+     * Muda o status somente se o pedido ainda estiver em um dos status de origem.
+     * Um único UPDATE, sem SELECT antes: se outra requisição mudou o status primeiro, retorna 0.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Pedido p set p.status = :novo, p.atualizadoEm = :instante, p.versao = p.versao + 1 " +
+           "where p.id = :id and p.status in :origens")
+    int atualizarStatusSe(@Param("id") Long id, @Param("origens") Collection<StatusPedido> origens,
+                          @Param("novo") StatusPedido novo, @Param("instante") LocalDateTime instante);
+
+    @Query("select p.status from Pedido p where p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+
+    @Query("select p.restaurante.id from Pedido p where p.id = :id")
+    Optional<Long> findRestauranteIdById(@Param("id") Long id);
+
+    // Autorização do stream de um pedido: pertence ao cliente (pelo email do login) ou ao restaurante
+    boolean existsByIdAndClienteEmail(Long id, String email);
+
+    boolean existsByIdAndRestauranteId(Long id, Long restauranteId);
+
+    // Só as colunas do painel de pedidos ativos, sem carregar cliente, restaurante e itens
+    @Query("select new com.deliverytech.dto.response.PedidoAtivoResponse(p.id, p.restaurante.id, p.status, p.dataPedido, p.atualizadoEm) " +
+           "from Pedido p where p.status in :status")
+    List<PedidoAtivoResponse> findAtivosByStatusIn(@Param("status") Collection<StatusPedido> status);
+
+    // Popularidade para o autocompletar: itens vendidos em pedidos não cancelados, por produto, restaurante e categoria
+    @Query("select i.produto.id, sum(i.quantidade) from ItemPedido i " +
+           "where i.pedido.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "group by i.produto.id")
+    List<Object[]> popularidadePorProduto();
+
+    @Query("select p.restaurante.id, sum(i.quantidade) from ItemPedido i join i.pedido p " +
+           "where p.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "group by p.restaurante.id")
+    List<Object[]> popularidadePorRestaurante();
+
+    @Query("select pr.categoria, sum(i.quantidade) from ItemPedido i join i.pedido p join i.produto pr " +
+           "where p.status <> com.deliverytech.model.StatusPedido.CANCELADO " +
+           "group by pr.categoria")
+    List<Object[]> popularidadePorCategoria();
+
+    // Aquecimento do cache: clientes com mais pedidos desde a data informada
+    @Query("select p.cliente.id from Pedido p where p.dataPedido >= :desde " +
+           "group by p.cliente.id order by count(p) desc")
+    List<Long> clientesMaisAtivos(@Param("desde") LocalDateTime desde, Pageable limite);
 }
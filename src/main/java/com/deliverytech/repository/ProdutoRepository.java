@@ -1,12 +1,41 @@
 package com.deliverytech.repository;
 
+import com.deliverytech.event.ProdutoSalvoEvent;
 import com.deliverytech.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<Produto> findByRestauranteId(Long restauranteId);
     List<Produto> findByDisponivelTrue();
     List<Produto> findByCategoria(String categoria);
+
+    // Chave natural (restaurante, nome): checada antes de gravar, para responder 409 em vez de violar a constraint
+    boolean existsByRestauranteIdAndNome(Long restauranteId, String nome);
+    boolean existsByRestauranteIdAndNomeAndIdNot(Long restauranteId, String nome, Long id);
+
+    // Busca vários produtos de uma vez, já trazendo o restaurante no mesmo SELECT
+    @Query("select p from Produto p join fetch p.restaurante where p.id in :ids")
+    List<Produto> findAllComRestauranteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Importação: produtos já existentes de um lote, pela chave natural (restaurante, nome)
+    @Query("select p from Produto p where p.restaurante.id = :restauranteId and p.nome in :nomes")
+    List<Produto> findByRestauranteIdAndNomeIn(@Param("restauranteId") Long restauranteId, @Param("nomes") Collection<String> nomes);
+
+    // Carga do índice de busca: estado de todos os produtos, lido sob demanda (consumir dentro de uma transação)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.deliverytech.event.ProdutoSalvoEvent(p.id, p.restaurante.id, p.nome, p.descricao, p.categoria, p.preco, p.disponivel) " +
+           "from Produto p")
+    Stream<ProdutoSalvoEvent> streamIndexacao();
 }
@@ -1,16 +1,35 @@
 package com.deliverytech.repository;
 
+import com.deliverytech.event.RestauranteSalvoEvent;
 import com.deliverytech.model.Restaurante;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
     List<Restaurante> findByCategoria(String categoria);
 
     // Retorna uma 'Page'
     Page<Restaurante> findByAtivoTrue(Pageable pageable);
+
+    // Paginação por cursor (keyset): continua a partir do último ID visto, sem OFFSET e sem COUNT(*)
+    Slice<Restaurante> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Carga dos índices de busca e de proximidade: estado de todos os restaurantes, lido sob demanda (consumir dentro de uma transação)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.deliverytech.event.RestauranteSalvoEvent(r.id, r.nome, r.categoria, r.ativo, " +
+            "r.taxaEntrega, r.tempoEntregaMinutos, r.latitude, r.longitude) from Restaurante r")
+    Stream<RestauranteSalvoEvent> streamIndexacao();
 }
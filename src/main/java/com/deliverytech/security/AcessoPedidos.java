@@ -0,0 +1,81 @@
+package com.deliverytech.security;
+
+import com.deliverytech.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Regras de acesso por dono para o acompanhamento de pedidos (streams SSE e painel de pedidos ativos).
+ * O perfil sozinho não basta: o cliente só acompanha os próprios pedidos e o restaurante só os seus.
+ * ADMIN acompanha qualquer um. Usado pelo SecurityConfig com o {id} do caminho.
+ */
+@Component
+@RequiredArgsConstructor
+public class AcessoPedidos {
+
+    private final PedidoRepository pedidoRepository;
+
+    /**
+     * /api/pedidos/{id}/eventos: o cliente do pedido, o restaurante do pedido ou ADMIN.
+     */
+    public AuthorizationDecision pedido(Supplier<Authentication> autenticacao, RequestAuthorizationContext contexto) {
+        Authentication usuario = autenticacao.get();
+        Long pedidoId = id(contexto);
+        if (pedidoId == null || !autenticado(usuario)) {
+            return new AuthorizationDecision(false);
+        }
+        if (tem(usuario, "ROLE_ADMIN")) {
+            return new AuthorizationDecision(true);
+        }
+        if (tem(usuario, "ROLE_CLIENTE") && pedidoRepository.existsByIdAndClienteEmail(pedidoId, usuario.getName())) {
+            return new AuthorizationDecision(true);
+        }
+        Long restauranteId = restauranteDo(usuario);
+        return new AuthorizationDecision(tem(usuario, "ROLE_RESTAURANTE") && restauranteId != null
+                && pedidoRepository.existsByIdAndRestauranteId(pedidoId, restauranteId));
+    }
+
+    /**
+     * /api/restaurantes/{id}/pedidos/**: o usuário do próprio restaurante ou ADMIN. Não consulta o banco.
+     */
+    public AuthorizationDecision restaurante(Supplier<Authentication> autenticacao, RequestAuthorizationContext contexto) {
+        Authentication usuario = autenticacao.get();
+        Long restauranteId = id(contexto);
+        if (restauranteId == null || !autenticado(usuario)) {
+            return new AuthorizationDecision(false);
+        }
+        return new AuthorizationDecision(tem(usuario, "ROLE_ADMIN")
+                || (tem(usuario, "ROLE_RESTAURANTE") && restauranteId.equals(restauranteDo(usuario))));
+    }
+
+    private static Long id(RequestAuthorizationContext contexto) {
+        try {
+            return Long.valueOf(contexto.getVariables().get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean autenticado(Authentication usuario) {
+        return usuario != null && usuario.isAuthenticated();
+    }
+
+    private static boolean tem(Authentication usuario, String perfil) {
+        for (GrantedAuthority autoridade : usuario.getAuthorities()) {
+            if (perfil.equals(autoridade.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long restauranteDo(Authentication usuario) {
+        return usuario.getPrincipal() instanceof UsuarioAutenticado autenticado ? autenticado.getRestauranteId() : null;
+    }
+}
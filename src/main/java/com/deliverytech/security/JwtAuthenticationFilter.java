@@ -1,10 +1,13 @@
 package com.deliverytech.security;
 
-import com.deliverytech.repository.UsuarioRepository;
-import io.jsonwebtoken.ExpiredJwtException;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,44 +18,88 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
 
+    // Tokens já verificados -> usuário autenticado. Cada entrada expira junto com o próprio token,
+    // então um token vencido nunca é aceito a partir do cache.
+    private final Cache<String, TokenAutenticado> tokensVerificados;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   @Value("${deliverytech.security.jwt.cache-tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new Expiry<String, TokenAutenticado>() {
+                    @Override
+                    public long expireAfterCreate(String token, TokenAutenticado valor, long agora) {
+                        return Math.max(0, Duration.between(Instant.now(), valor.expiraEm()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, TokenAutenticado valor, long agora, long duracaoAtual) {
+                        return expireAfterCreate(token, valor, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, TokenAutenticado valor, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
+        final String jwt = authHeader.substring(7);
+        final TokenAutenticado token;
         try {
-            username = jwtUtil.extractUsername(jwt);
-        } catch (ExpiredJwtException e) {
+            token = verificar(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token inválido ou expirado: segue sem autenticação e a autorização decide a resposta
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (token.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = token.authorities().isEmpty()
+                    // Tokens sem a claim de perfil ainda precisam consultar o banco
+                    ? userDetailsService.loadUserByUsername(token.username())
+                    : token.principal();
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica o token uma única vez (assinatura + expiração) e guarda o resultado.
+     * Requisições seguintes com o mesmo token não fazem parse nem consultam o banco.
+     */
+    TokenAutenticado verificar(String jwt) {
+        TokenAutenticado token = tokensVerificados.getIfPresent(jwt);
+        if (token == null) {
+            token = jwtUtil.autenticar(jwt);
+            tokensVerificados.put(jwt, token);
+        }
+        return token;
+    }
+}
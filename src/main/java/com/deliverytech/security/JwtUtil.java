@@ -3,12 +3,15 @@ package com.deliverytech.security;
 import com.deliverytech.model.Usuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -17,6 +20,27 @@ public class JwtUtil {
 
     private final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
 
+    // Chave e parser são imutáveis e thread-safe: criados uma vez, reaproveitados em toda requisição
+    private final Key signKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+
+    /**
+     * Verifica assinatura e expiração e extrai usuário e perfil em uma única leitura do token.
+     * Lança JwtException (inclusive ExpiredJwtException) se o token não for válido.
+     */
+    public TokenAutenticado autenticar(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token sem data de expiração");
+        }
+        Object role = claims.get("role");
+        List<GrantedAuthority> authorities = role == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        Long restauranteId = claims.get("restauranteId") instanceof Number numero ? numero.longValue() : null;
+        return new TokenAutenticado(claims.getSubject(), authorities, restauranteId, claims.getExpiration().toInstant());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -27,11 +51,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails, Usuario usuario) {
@@ -49,16 +69,12 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,19 @@
+package com.deliverytech.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado da verificação de um JWT: usuário, perfis, restaurante vinculado e instante de expiração,
+ * tudo extraído das claims em uma única leitura do token.
+ */
+public record TokenAutenticado(String username, List<GrantedAuthority> authorities, Long restauranteId, Instant expiraEm) {
+
+    public UserDetails principal() {
+        // A senha não vem no token e não é necessária depois da autenticação
+        return new UsuarioAutenticado(username, "", authorities, restauranteId);
+    }
+}
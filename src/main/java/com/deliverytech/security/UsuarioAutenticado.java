@@ -0,0 +1,25 @@
+package com.deliverytech.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Usuário autenticado com o restaurante ao qual está vinculado (perfil RESTAURANTE),
+ * usado para verificar se ele pode acompanhar os pedidos de um restaurante.
+ */
+public class UsuarioAutenticado extends User {
+
+    private final Long restauranteId;
+
+    public UsuarioAutenticado(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                              Long restauranteId) {
+        super(username, password, authorities);
+        this.restauranteId = restauranteId;
+    }
+
+    public Long getRestauranteId() {
+        return restauranteId;
+    }
+}
@@ -22,10 +22,11 @@ public class UsuarioDetailsServiceImpl implements UserDetailsService {
         Usuario usuario = usuarioRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
 
-        return new User(
+        return new UsuarioAutenticado(
             usuario.getEmail(),
             usuario.getSenha(),
-            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getRole()))
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getRole())),
+            usuario.getRestauranteId()
         );
     }
 }
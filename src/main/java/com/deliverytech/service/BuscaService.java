@@ -0,0 +1,12 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.BuscaResponse;
+
+/**
+ * Busca textual em restaurantes (nome, categoria) e produtos (nome, descrição, categoria).
+ * Ignora acentos e maiúsculas, aceita prefixos ("calab" encontra "calabresa") e exige
+ * todos os termos. A categoria, se informada, filtra os dois resultados.
+ */
+public interface BuscaService {
+    BuscaResponse buscar(String texto, String categoria, int limite);
+}
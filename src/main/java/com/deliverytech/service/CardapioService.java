@@ -0,0 +1,9 @@
+package com.deliverytech.service;
+
+import com.deliverytech.cache.CardapioSnapshot;
+
+public interface CardapioService {
+    CardapioSnapshot buscarCardapio(Long restauranteId);
+    CardapioSnapshot montarCardapio(Long restauranteId);
+    void invalidar(Long restauranteId);
+}
@@ -1,18 +1,18 @@
 package com.deliverytech.service;
 
 import com.deliverytech.model.Cliente;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
-import java.util.List;
 import java.util.Optional;
 
-@Cacheable("clientes")
 public interface ClienteService {
     Cliente cadastrar(Cliente cliente);
     Optional<Cliente> buscarPorId(Long id);
+    Optional<Cliente> buscarPorEmail(String email);
     Page<Cliente> listarAtivos(Pageable pageable);
+    Slice<Cliente> listarAtivosAPartirDe(Long ultimoId, int tamanho);
     Cliente atualizar(Long id, Cliente clienteAtualizado);
-    void ativarDesativar(Long id);
-}
\ No newline at end of file
+    Cliente ativarDesativar(Long id);
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Exportação dos pedidos de um período (datas inclusivas) com seus itens, escrita direto na saída.
+ */
+public interface ExportacaoPedidoService {
+
+    enum Formato {
+        CSV, NDJSON
+    }
+
+    /**
+     * @return quantidade de linhas (CSV) ou pedidos (NDJSON) escritos
+     */
+    long exportar(LocalDate inicio, LocalDate fim, Formato formato, OutputStream saida) throws IOException;
+}
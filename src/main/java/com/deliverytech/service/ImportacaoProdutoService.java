@@ -0,0 +1,19 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Importação em massa do cardápio de um restaurante. Produtos são identificados pelo nome
+ * dentro do restaurante: os que já existem são atualizados, os demais são inseridos.
+ */
+public interface ImportacaoProdutoService {
+
+    enum Formato {
+        JSON, CSV
+    }
+
+    ImportacaoProdutosResponse importar(Long restauranteId, InputStream entrada, Formato formato) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface NotificacaoPedidoService {
+    SseEmitter assinarPedido(Long pedidoId);
+    SseEmitter assinarRestaurante(Long restauranteId);
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.model.StatusPedido;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface PainelPedidosService {
+    Map<StatusPedido, List<PedidoAtivoResponse>> pedidosAtivos(Long restauranteId);
+
+    // Restaurante de um pedido em andamento, sem acessar o banco
+    Optional<Long> restauranteDoPedido(Long pedidoId);
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoAsyncResponse;
+
+import java.util.Optional;
+
+public interface PedidoAsyncService {
+    PedidoAsyncResponse enfileirar(PedidoRequest request);
+    Optional<PedidoAsyncResponse> consultar(String protocolo);
+}
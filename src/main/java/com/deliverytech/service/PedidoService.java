@@ -1,16 +1,23 @@
 package com.deliverytech.service;
 
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoResumoResponse;
 import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface PedidoService {
     Pedido criar(Pedido pedido);
+    Pedido criar(PedidoRequest request);
     Optional<Pedido> buscarPorId(Long id);
+    Optional<Pedido> buscarComItens(Long id);
     List<Pedido> listarPorCliente(Long clienteId);
+    Page<PedidoResumoResponse> listarHistoricoCliente(Long clienteId, Pageable pageable);
     List<Pedido> listarPorRestaurante(Long restauranteId);
-    Pedido atualizarStatus(Long id, StatusPedido status);
+    void atualizarStatus(Long id, StatusPedido status);
     void cancelar(Long id);
 }
@@ -0,0 +1,21 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.RestauranteProximoResponse;
+
+import java.util.List;
+
+/**
+ * Busca de restaurantes ativos em torno de uma posição, dentro de um raio de entrega.
+ * Restaurantes sem coordenadas não aparecem.
+ */
+public interface ProximidadeService {
+
+    enum Ordem {
+        // Menor tempo estimado (tempo de entrega do restaurante + deslocamento); empate pela distância
+        TEMPO,
+        // Mais perto primeiro
+        DISTANCIA
+    }
+
+    List<RestauranteProximoResponse> restaurantesProximos(double latitude, double longitude, double raioKm, int limite, Ordem ordem);
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.FaturamentoDiarioResponse;
+import com.deliverytech.dto.response.ProdutoVendidoResponse;
+import com.deliverytech.dto.response.TicketMedioResponse;
+import com.deliverytech.model.StatusPedido;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatórios de vendas sobre os pedidos de um período (datas inclusivas).
+ * Um restauranteId nulo considera todos os restaurantes.
+ */
+public interface RelatorioService {
+    List<FaturamentoDiarioResponse> faturamentoDiario(LocalDate inicio, LocalDate fim, Long restauranteId);
+    TicketMedioResponse ticketMedio(LocalDate inicio, LocalDate fim, Long restauranteId);
+    List<ProdutoVendidoResponse> produtosMaisVendidos(LocalDate inicio, LocalDate fim, Long restauranteId, int limite);
+    Map<StatusPedido, Long> funilStatus(LocalDate inicio, LocalDate fim, Long restauranteId);
+}
@@ -7,11 +7,13 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface RestauranteService {
     Restaurante cadastrar(Restaurante restaurante);
     Optional<Restaurante> buscarPorId(Long id);
     Page<Restaurante> listarTodos(Pageable pageable);
+    Slice<Restaurante> listarTodosAPartirDe(Long ultimoId, int tamanho);
     List<Restaurante> buscarPorCategoria(String categoria);
     Restaurante atualizar(Long id, Restaurante restauranteAtualizado);
 }
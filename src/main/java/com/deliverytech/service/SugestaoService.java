@@ -0,0 +1,14 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.SugestaoResponse;
+
+import java.util.List;
+
+/**
+ * Autocompletar sobre nomes de restaurantes, nomes de produtos e categorias: sugestões que
+ * começam pelo texto digitado (no início do nome ou de qualquer palavra dele), ignorando acentos
+ * e maiúsculas, das mais vendidas para as menos vendidas.
+ */
+public interface SugestaoService {
+    List<SugestaoResponse> sugerir(String prefixo, int limite);
+}
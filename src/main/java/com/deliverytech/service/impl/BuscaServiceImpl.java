@@ -0,0 +1,105 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.BuscaResponse;
+import com.deliverytech.dto.response.ItemBuscaResponse;
+import com.deliverytech.event.ProdutoSalvoEvent;
+import com.deliverytech.event.ProdutosSalvosEvent;
+import com.deliverytech.event.RestauranteSalvoEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.BuscaService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Busca sobre índices invertidos mantidos em memória, um para restaurantes ativos e outro para
+ * produtos disponíveis. Os índices são montados a partir do banco na inicialização e atualizados
+ * pelos eventos de gravação, então a busca não acessa o banco.
+ * Com várias instâncias, as gravações feitas nas outras chegam pelo {@link com.deliverytech.event.ReplicadorEventos}
+ * alguns milissegundos depois do commit; uma gravação perdida durante uma queda do Redis só aparece
+ * na busca desta instância quando o registro é gravado de novo ou a instância reinicia.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuscaServiceImpl implements BuscaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaServiceImpl.class);
+    static final int LIMITE_MAXIMO = 50;
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Campos: nome, categoria
+    private final IndiceInvertido restaurantes = new IndiceInvertido(3f, 2f);
+    // Campos: nome, categoria, descrição
+    private final IndiceInvertido produtos = new IndiceInvertido(3f, 2f, 1f);
+
+    /**
+     * Carrega os índices antes da aplicação começar a receber requisições, lendo as tabelas como stream.
+     */
+    @PostConstruct
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<RestauranteSalvoEvent> todos = restauranteRepository.streamIndexacao()) {
+                todos.forEach(this::aoSalvarRestaurante);
+            }
+            try (Stream<ProdutoSalvoEvent> todos = produtoRepository.streamIndexacao()) {
+                todos.forEach(this::aoSalvarProduto);
+            }
+        });
+        logger.info("Índice de busca montado com {} restaurantes e {} produtos em {} ms",
+                restaurantes.tamanho(), produtos.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public BuscaResponse buscar(String texto, String categoria, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return new BuscaResponse(restaurantes.buscar(texto, categoria, limite), produtos.buscar(texto, categoria, limite));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarRestaurante(RestauranteSalvoEvent evento) {
+        if (Boolean.FALSE.equals(evento.ativo())) {
+            restaurantes.remover(evento.restauranteId());
+            return;
+        }
+        restaurantes.indexar(evento.restauranteId(), evento.categoria(),
+                new ItemBuscaResponse(evento.restauranteId(), evento.nome(), evento.categoria(), null, null, 0),
+                evento.nome(), evento.categoria());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        produtos.aplicar(List.of(alteracao(evento)));
+    }
+
+    // Lote da importação de cardápio: um único lock de escrita para o lote inteiro
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProdutos(ProdutosSalvosEvent evento) {
+        produtos.aplicar(evento.produtos().stream().map(BuscaServiceImpl::alteracao).toList());
+    }
+
+    private static IndiceInvertido.Alteracao alteracao(ProdutoSalvoEvent evento) {
+        if (Boolean.FALSE.equals(evento.disponivel())) {
+            return new IndiceInvertido.Alteracao(evento.produtoId(), null, null);
+        }
+        return new IndiceInvertido.Alteracao(evento.produtoId(), evento.categoria(),
+                new ItemBuscaResponse(evento.produtoId(), evento.nome(), evento.categoria(), evento.restauranteId(), evento.preco(), 0),
+                evento.nome(), evento.categoria(), evento.descricao());
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.cache.CardapioSnapshot;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.CardapioService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Mantém um snapshot pronto (JSON + ETag) do cardápio de cada restaurante no cache "cardapios".
+ * O snapshot é montado na primeira leitura e descartado pelo ProdutoService a cada escrita.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardapioServiceImpl implements CardapioService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "cardapios", key = "#restauranteId")
+    public CardapioSnapshot buscarCardapio(Long restauranteId) {
+        return montarCardapio(restauranteId);
+    }
+
+    /**
+     * Monta o snapshot direto do banco, sem passar pelo cache; usado pelo aquecimento como
+     * carregador do Cache.get para preencher o cache sem publicar invalidação.
+     */
+    @Override
+    @Timed("deliverytech.servico")
+    public CardapioSnapshot montarCardapio(Long restauranteId) {
+        if (!restauranteRepository.existsById(restauranteId)) {
+            throw new EntityNotFoundException("Restaurante", restauranteId);
+        }
+
+        List<ProdutoResponse> produtos = produtoRepository.findByRestauranteId(restauranteId).stream()
+                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
+                .toList();
+
+        try {
+            return CardapioSnapshot.de(restauranteId, objectMapper.writeValueAsBytes(produtos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o cardápio do restaurante " + restauranteId, e);
+        }
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    @CacheEvict(value = "cardapios", key = "#restauranteId")
+    public void invalidar(Long restauranteId) {
+        // Apenas remove o snapshot; o próximo acesso monta um novo
+    }
+}
@@ -1,17 +1,30 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Cliente;
 import com.deliverytech.repository.ClienteRepository;
 import com.deliverytech.service.ClienteService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 
+/**
+ * Política de cache por operação:
+ * - leituras por ID e por email ficam nos caches "clientes" e "clientesPorEmail";
+ * - escritas atualizam essas duas entradas (CachePut) e descartam as listagens paginadas,
+ *   que ficam em um cache separado e menor ("clientesPaginados").
+ */
 @Service
 @RequiredArgsConstructor
 public class ClienteServiceImpl implements ClienteService {
@@ -19,35 +32,77 @@ public class ClienteServiceImpl implements ClienteService {
     private final ClienteRepository clienteRepository;
 
     @Override
+    @Timed("deliverytech.servico")
+    @Caching(
+        put = {
+            @CachePut(value = "clientes", key = "#result.id"),
+            @CachePut(value = "clientesPorEmail", key = "#result.email")
+        },
+        evict = @CacheEvict(value = "clientesPaginados", allEntries = true)
+    )
     public Cliente cadastrar(Cliente cliente) {
         return clienteRepository.save(cliente);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "clientes", key = "#id", unless = "#result == null")
     public Optional<Cliente> buscarPorId(Long id) {
         return clienteRepository.findById(id);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "clientesPorEmail", key = "#email", unless = "#result == null")
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return clienteRepository.findByEmail(email);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "clientesPaginados", key = "#pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
     public Page<Cliente> listarAtivos(Pageable pageable) {
         return clienteRepository.findByAtivoTrue(pageable);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    public Slice<Cliente> listarAtivosAPartirDe(Long ultimoId, int tamanho) {
+        return clienteRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(ultimoId != null ? ultimoId : 0L, PageRequest.of(0, tamanho));
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Caching(
+        put = {
+            @CachePut(value = "clientes", key = "#id"),
+            @CachePut(value = "clientesPorEmail", key = "#result.email")
+        },
+        evict = @CacheEvict(value = "clientesPaginados", allEntries = true)
+    )
     public Cliente atualizar(Long id, Cliente atualizado) {
         return clienteRepository.findById(id)
                 .map(c -> {
                     c.setNome(atualizado.getNome());
                     return clienteRepository.save(c);
-                }).orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+                }).orElseThrow(() -> new EntityNotFoundException("Cliente", id));
     }
 
     @Override
-    public void ativarDesativar(Long id) {
-        clienteRepository.findById(id).ifPresent(c -> {
-            c.setAtivo(!c.getAtivo());
-            clienteRepository.save(c);
-        });
+    @Timed("deliverytech.servico")
+    @Caching(
+        put = {
+            @CachePut(value = "clientes", key = "#id"),
+            @CachePut(value = "clientesPorEmail", key = "#result.email")
+        },
+        evict = @CacheEvict(value = "clientesPaginados", allEntries = true)
+    )
+    public Cliente ativarDesativar(Long id) {
+        return clienteRepository.findById(id)
+                .map(c -> {
+                    c.setAtivo(!c.getAtivo());
+                    return clienteRepository.save(c);
+                }).orElseThrow(() -> new EntityNotFoundException("Cliente", id));
     }
  private void simulateDelay() {
         try {
@@ -0,0 +1,158 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.PedidoExportacaoLinha;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.ExportacaoPedidoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de pedidos em CSV ou NDJSON sem carregar o resultado em memória.
+ *
+ * As linhas vêm de um Stream do repositório (cursor do banco, lido em blocos do fetch size)
+ * e são escritas na saída à medida que chegam; o consumo de memória é o do buffer de escrita,
+ * qualquer que seja o período. No CSV cada item é uma linha; no NDJSON cada pedido é um objeto
+ * com seus itens, montado a partir das linhas consecutivas do mesmo pedido (a consulta é ordenada por pedido).
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportacaoPedidoServiceImpl implements ExportacaoPedidoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacaoPedidoServiceImpl.class);
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    static final String CABECALHO_CSV = "pedido_id,data_pedido,status,cliente_id,restaurante_id,total,produto_id,quantidade,preco_unitario";
+
+    private final PedidoRepository pedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Transactional(readOnly = true)
+    public long exportar(LocalDate inicio, LocalDate fim, Formato formato, OutputStream saida) throws IOException {
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("A data final não pode ser anterior à data inicial");
+        }
+        long inicioExecucao = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        long escritos;
+        try (Stream<PedidoExportacaoLinha> linhas = pedidoRepository.streamExportacao(inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())) {
+            escritos = formato == Formato.CSV ? escreverCsv(linhas.iterator(), writer) : escreverNdjson(linhas.iterator(), writer);
+        }
+        writer.flush();
+        logger.info("Exportação {} de {} a {}: {} registros em {} ms", formato, inicio, fim, escritos,
+                (System.nanoTime() - inicioExecucao) / 1_000_000);
+        return escritos;
+    }
+
+    private long escreverCsv(Iterator<PedidoExportacaoLinha> linhas, Writer writer) throws IOException {
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+        long escritas = 0;
+        while (linhas.hasNext()) {
+            PedidoExportacaoLinha linha = linhas.next();
+            // Só números, datas ISO e nomes de enum: nenhum campo precisa de aspas
+            writer.write(String.valueOf(linha.getPedidoId()));
+            writer.write(',');
+            writer.write(String.valueOf(linha.getDataPedido()));
+            writer.write(',');
+            writer.write(String.valueOf(linha.getStatus()));
+            writer.write(',');
+            writer.write(texto(linha.getClienteId()));
+            writer.write(',');
+            writer.write(texto(linha.getRestauranteId()));
+            writer.write(',');
+            writer.write(texto(linha.getTotal()));
+            writer.write(',');
+            writer.write(texto(linha.getProdutoId()));
+            writer.write(',');
+            writer.write(texto(linha.getQuantidade()));
+            writer.write(',');
+            writer.write(texto(linha.getPrecoUnitario()));
+            writer.write('\n');
+            escritas++;
+        }
+        return escritas;
+    }
+
+    private long escreverNdjson(Iterator<PedidoExportacaoLinha> linhas, Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        // Cada pedido termina com a quebra de linha (writeRaw); nenhum separador extra entre objetos
+        json.setRootValueSeparator(null);
+        // O writer é da exportação: o gerador não deve fechá-lo
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long pedidos = 0;
+        Long pedidoAtual = null;
+        while (linhas.hasNext()) {
+            PedidoExportacaoLinha linha = linhas.next();
+            if (!Objects.equals(linha.getPedidoId(), pedidoAtual)) {
+                if (pedidoAtual != null) {
+                    fecharPedido(json);
+                }
+                pedidoAtual = linha.getPedidoId();
+                json.writeStartObject();
+                json.writeNumberField("id", linha.getPedidoId());
+                json.writeStringField("dataPedido", String.valueOf(linha.getDataPedido()));
+                json.writeStringField("status", String.valueOf(linha.getStatus()));
+                escreverNumero(json, "clienteId", linha.getClienteId());
+                escreverNumero(json, "restauranteId", linha.getRestauranteId());
+                escreverNumero(json, "total", linha.getTotal());
+                json.writeArrayFieldStart("itens");
+                pedidos++;
+            }
+            if (linha.getProdutoId() != null) {
+                json.writeStartObject();
+                json.writeNumberField("produtoId", linha.getProdutoId());
+                escreverNumero(json, "quantidade", linha.getQuantidade());
+                escreverNumero(json, "precoUnitario", linha.getPrecoUnitario());
+                json.writeEndObject();
+            }
+        }
+        if (pedidoAtual != null) {
+            fecharPedido(json);
+        }
+        json.flush();
+        return pedidos;
+    }
+
+    private static void fecharPedido(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void escreverNumero(JsonGenerator json, String campo, Number valor) throws IOException {
+        if (valor == null) {
+            json.writeNullField(campo);
+        } else if (valor instanceof BigDecimal decimal) {
+            json.writeNumberField(campo, decimal);
+        } else {
+            json.writeNumberField(campo, valor.longValue());
+        }
+    }
+
+    private static String texto(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        return valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.event.ProdutoSalvoEvent;
+import com.deliverytech.event.ProdutosSalvosEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.ConflictException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.CardapioService;
+import com.deliverytech.service.ImportacaoProdutoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Importação do cardápio de um restaurante a partir de um array JSON ou de um CSV.
+ *
+ * A entrada é lida como stream (um produto por vez, nunca o arquivo inteiro) e processada em lotes:
+ * cada lote é validado, os produtos já existentes são buscados em uma única consulta pela chave natural
+ * (restaurante, nome) e o lote é gravado em uma transação própria, com os INSERTs em batch JDBC
+ * (ids de sequence em blocos). Linhas inválidas não interrompem a importação: entram no relatório
+ * de erros com o número da linha (no JSON, a posição do produto no array).
+ */
+@Service
+public class ImportacaoProdutoServiceImpl implements ImportacaoProdutoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoProdutoServiceImpl.class);
+    static final int LIMITE_ERROS = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteService restauranteService;
+    private final CardapioService cardapioService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoLote;
+
+    public ImportacaoProdutoServiceImpl(ProdutoRepository produtoRepository,
+                                        RestauranteService restauranteService,
+                                        CardapioService cardapioService,
+                                        TransactionTemplate transactionTemplate,
+                                        ObjectMapper objectMapper,
+                                        Validator validator,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${deliverytech.produtos.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.produtoRepository = produtoRepository;
+        this.restauranteService = restauranteService;
+        this.cardapioService = cardapioService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public ImportacaoProdutosResponse importar(Long restauranteId, InputStream entrada, Formato formato) throws IOException {
+        Restaurante restaurante = restauranteService.buscarPorId(restauranteId)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante", restauranteId));
+        long inicio = System.nanoTime();
+        Importacao importacao = new Importacao(restaurante);
+        try {
+            if (formato == Formato.CSV) {
+                lerCsv(entrada, importacao);
+            } else {
+                lerJson(entrada, importacao);
+            }
+            importacao.gravarLote();
+        } finally {
+            if (importacao.resultado.getInseridos() + importacao.resultado.getAtualizados() > 0) {
+                cardapioService.invalidar(restauranteId);
+            }
+        }
+        ImportacaoProdutosResponse resultado = importacao.resultado;
+        logger.info("Importação de produtos do restaurante {}: {} linhas, {} inseridos, {} atualizados, {} erros em {} ms",
+                restauranteId, resultado.getLinhasLidas(), resultado.getInseridos(), resultado.getAtualizados(),
+                resultado.getTotalErros(), (System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    private void lerJson(InputStream entrada, Importacao importacao) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessException("O corpo deve ser um array JSON de produtos");
+            }
+            long posicao = 0;
+            try {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    posicao++;
+                    // Lê só o objeto atual; a conversão é feita à parte para que um campo inválido rejeite apenas esta linha
+                    JsonNode node = parser.readValueAsTree();
+                    try {
+                        importacao.adicionar(posicao, objectMapper.treeToValue(node, ProdutoRequest.class));
+                    } catch (JsonProcessingException e) {
+                        importacao.erro(posicao, "Valor inválido: " + e.getOriginalMessage());
+                    }
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    importacao.erro(posicao + 1, "Esperado um objeto de produto");
+                }
+            } catch (JsonProcessingException e) {
+                // JSON malformado: o restante da entrada não pode ser lido com segurança
+                importacao.erro(posicao + 1, "JSON malformado, importação interrompida: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void lerCsv(InputStream entrada, Importacao importacao) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> cabecalho = leitor.proximoRegistro();
+        if (cabecalho == null) {
+            throw new BusinessException("O CSV está vazio");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase().replace("\uFEFF", ""), i);
+        }
+        for (String obrigatoria : List.of("nome", "categoria", "descricao", "preco")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no CSV: " + obrigatoria);
+            }
+        }
+        List<String> campos;
+        while ((campos = leitor.proximoRegistro()) != null) {
+            long linha = leitor.linhaDoRegistro();
+            ProdutoRequest request = new ProdutoRequest();
+            request.setNome(valor(campos, colunas.get("nome")));
+            request.setCategoria(valor(campos, colunas.get("categoria")));
+            request.setDescricao(valor(campos, colunas.get("descricao")));
+            String preco = valor(campos, colunas.get("preco"));
+            try {
+                request.setPreco(preco == null ? null : new BigDecimal(preco));
+            } catch (NumberFormatException e) {
+                importacao.erro(linha, "preco: valor inválido '" + preco + "'");
+                continue;
+            }
+            importacao.adicionar(linha, request);
+        }
+    }
+
+    private static String valor(List<String> campos, int coluna) {
+        if (coluna >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(coluna).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Estado de uma importação: o lote em montagem e o resultado acumulado.
+     */
+    private final class Importacao {
+        private final Restaurante restaurante;
+        private final ImportacaoProdutosResponse resultado = new ImportacaoProdutosResponse();
+        // Por nome: se o mesmo produto aparece duas vezes no lote, vale a última linha
+        private final Map<String, ProdutoRequest> lote = new LinkedHashMap<>();
+
+        Importacao(Restaurante restaurante) {
+            this.restaurante = restaurante;
+        }
+
+        void adicionar(long linha, ProdutoRequest request) {
+            resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+            request.setRestauranteId(restaurante.getId());
+            if (request.getNome() != null) {
+                request.setNome(request.getNome().trim());
+            }
+            var violacoes = validator.validate(request);
+            if (!violacoes.isEmpty()) {
+                erro(linha, violacoes.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            lote.put(request.getNome(), request);
+            if (lote.size() >= tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        void erro(long linha, String mensagem) {
+            if (resultado.getTotalErros() < LIMITE_ERROS) {
+                resultado.getErros().add(new ImportacaoProdutosResponse.ErroLinha(linha, mensagem));
+            }
+            resultado.setTotalErros(resultado.getTotalErros() + 1);
+        }
+
+        void gravarLote() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Produto> existentes = new HashMap<>();
+                for (Produto produto : produtoRepository.findByRestauranteIdAndNomeIn(restaurante.getId(), lote.keySet())) {
+                    // A constraint (restaurante, nome) impede repetidos; se aparecerem, não há qual escolher
+                    if (existentes.putIfAbsent(produto.getNome(), produto) != null) {
+                        throw new ConflictException(String.format(
+                                "Há mais de um produto '%s' no restaurante %d; resolva antes de importar",
+                                produto.getNome(), restaurante.getId()));
+                    }
+                }
+                List<Produto> novos = new ArrayList<>();
+                for (ProdutoRequest request : lote.values()) {
+                    Produto produto = existentes.get(request.getNome());
+                    if (produto == null) {
+                        produto = Produto.builder().nome(request.getNome()).disponivel(true).restaurante(restaurante).build();
+                        novos.add(produto);
+                    }
+                    // Existentes são atualizados por dirty checking no commit
+                    produto.setCategoria(request.getCategoria());
+                    produto.setDescricao(request.getDescricao());
+                    produto.setPreco(request.getPreco());
+                }
+                produtoRepository.saveAll(novos);
+                // Um evento por lote, entregue aos ouvintes (índices de busca e sugestões) só depois do commit
+                List<ProdutoSalvoEvent> salvos = new ArrayList<>(existentes.size() + novos.size());
+                existentes.values().forEach(produto -> salvos.add(ProdutoSalvoEvent.de(produto)));
+                novos.forEach(produto -> salvos.add(ProdutoSalvoEvent.de(produto)));
+                eventPublisher.publishEvent(new ProdutosSalvosEvent(restaurante.getId(), salvos));
+                resultado.setInseridos(resultado.getInseridos() + novos.size());
+                resultado.setAtualizados(resultado.getAtualizados() + existentes.size());
+            });
+            lote.clear();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.deliverytech.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial em memória sobre uma grade de células de tamanho fixo em graus
+ * (o equivalente a um geohash de precisão única).
+ *
+ * Cada ponto fica na célula que contém suas coordenadas; as células são guardadas em um mapa
+ * e só existem se tiverem pontos. A busca por raio percorre apenas as células do retângulo que
+ * envolve o círculo; a dos k mais próximos percorre anéis de células ao redor da célula da consulta
+ * e para quando nenhum ponto fora dos anéis já vistos pode estar mais perto que o k-ésimo encontrado.
+ * As distâncias são calculadas pela fórmula de haversine. A longitude dá a volta no antimeridiano.
+ * Leituras concorrentes; escritas exclusivas.
+ *
+ * @param <T> dado guardado junto de cada ponto e devolvido nas buscas
+ */
+class IndiceGeografico<T> {
+
+    static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180;
+
+    private final double tamanhoCelula;
+    private final int linhas;
+    private final int colunas;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Celula> celulas = new HashMap<>();
+    private final Map<Long, Long> celulaPorId = new HashMap<>();
+
+    /**
+     * @param tamanhoCelula lado da célula em graus; próximo do raio típico das buscas
+     *                      (0,02° ≈ 2,2 km de latitude)
+     */
+    IndiceGeografico(double tamanhoCelula) {
+        this.tamanhoCelula = tamanhoCelula;
+        this.linhas = (int) Math.ceil(180 / tamanhoCelula) + 1;
+        this.colunas = (int) Math.ceil(360 / tamanhoCelula);
+    }
+
+    /**
+     * Indexa (ou move) o ponto com o id informado.
+     */
+    void indexar(long id, double latitude, double longitude, T item) {
+        long chave = chave(linha(latitude), coluna(longitude));
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+            celulas.computeIfAbsent(chave, c -> new Celula()).adicionar(id, latitude, longitude, item);
+            celulaPorId.put(id, chave);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return celulaPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todos os pontos a até raioKm da posição informada, sem ordem definida.
+     */
+    List<Vizinho<T>> dentroDoRaio(double latitude, double longitude, double raioKm) {
+        int linhaCentro = linha(latitude);
+        int colunaCentro = coluna(longitude);
+        int deltaLinhas = (int) Math.ceil(raioKm / (tamanhoCelula * KM_POR_GRAU));
+        int deltaColunas = deltaColunas(latitude, raioKm);
+        // Perto dos polos o retângulo pode cobrir todas as colunas: cada uma é visitada uma vez só
+        int largura = Math.min(2 * deltaColunas + 1, colunas);
+        List<Vizinho<T>> encontrados = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (int l = Math.max(0, linhaCentro - deltaLinhas); l <= Math.min(linhas - 1, linhaCentro + deltaLinhas); l++) {
+                for (int i = 0; i < largura; i++) {
+                    Celula celula = celulas.get(chave(l, Math.floorMod(colunaCentro - deltaColunas + i, colunas)));
+                    if (celula != null) {
+                        celula.coletar(latitude, longitude, raioKm, encontrados);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontrados;
+    }
+
+    /**
+     * Os k pontos mais próximos da posição informada, a até raioMaximoKm, do mais perto para o mais longe.
+     */
+    List<Vizinho<T>> maisProximos(double latitude, double longitude, int k, double raioMaximoKm) {
+        int linhaCentro = linha(latitude);
+        int colunaCentro = coluna(longitude);
+        // Anel mais distante que ainda pode ter pontos dentro do raio máximo
+        int ultimoAnel = Math.min((colunas - 1) / 2,
+                Math.max((int) Math.ceil(raioMaximoKm / (tamanhoCelula * KM_POR_GRAU)), deltaColunas(latitude, raioMaximoKm)));
+        PriorityQueue<Vizinho<T>> melhores = new PriorityQueue<>(k + 1,
+                Comparator.<Vizinho<T>>comparingDouble(Vizinho::distanciaKm).reversed());
+        List<Vizinho<T>> candidatos = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (int anel = 0; anel <= ultimoAnel; anel++) {
+                // Todo ponto fora dos anéis 0..anel-1 está a pelo menos esta distância da consulta
+                double distanciaMinima = (anel - 1) * menorLadoCelulaKm(latitude, anel);
+                if (distanciaMinima > raioMaximoKm
+                        || (melhores.size() == k && distanciaMinima > melhores.peek().distanciaKm())) {
+                    break;
+                }
+                for (int dl = -anel; dl <= anel; dl++) {
+                    int l = linhaCentro + dl;
+                    if (l < 0 || l >= linhas) {
+                        continue;
+                    }
+                    // Nas linhas de cima e de baixo o anel é a linha inteira; nas demais, só as duas pontas
+                    int passo = Math.abs(dl) == anel ? 1 : Math.max(1, 2 * anel);
+                    for (int dc = -anel; dc <= anel; dc += passo) {
+                        Celula celula = celulas.get(chave(l, Math.floorMod(colunaCentro + dc, colunas)));
+                        if (celula == null) {
+                            continue;
+                        }
+                        candidatos.clear();
+                        celula.coletar(latitude, longitude, raioMaximoKm, candidatos);
+                        for (Vizinho<T> candidato : candidatos) {
+                            if (melhores.size() < k) {
+                                melhores.add(candidato);
+                            } else if (candidato.distanciaKm() < melhores.peek().distanciaKm()) {
+                                melhores.poll();
+                                melhores.add(candidato);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        @SuppressWarnings("unchecked")
+        Vizinho<T>[] ordenados = melhores.toArray(new Vizinho[0]);
+        Arrays.sort(ordenados, Comparator.comparingDouble(Vizinho::distanciaKm));
+        return Arrays.asList(ordenados);
+    }
+
+    static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double senoLat = Math.sin(dLat / 2);
+        double senoLon = Math.sin(dLon / 2);
+        double a = senoLat * senoLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * senoLon * senoLon;
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Menor lado, em km, das células até o anel informado: a largura das células encolhe com o cosseno da latitude.
+     * Com margem de 1% porque o arco do paralelo é um pouco maior que o círculo máximo entre os mesmos pontos.
+     */
+    private double menorLadoCelulaKm(double latitude, int anel) {
+        double latitudeExtrema = Math.min(90, Math.abs(latitude) + (anel + 1) * tamanhoCelula);
+        return tamanhoCelula * KM_POR_GRAU * Math.cos(Math.toRadians(latitudeExtrema)) * 0.99;
+    }
+
+    private int deltaColunas(double latitude, double raioKm) {
+        double cosseno = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + raioKm / KM_POR_GRAU)));
+        if (cosseno < 1e-6) {
+            return colunas / 2;
+        }
+        return Math.min(colunas / 2, (int) Math.ceil(raioKm / (tamanhoCelula * KM_POR_GRAU * cosseno)));
+    }
+
+    private int linha(double latitude) {
+        return Math.min(linhas - 1, (int) Math.floor((latitude + 90) / tamanhoCelula));
+    }
+
+    private int coluna(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / tamanhoCelula), colunas);
+    }
+
+    private long chave(int linha, int coluna) {
+        return (long) linha * colunas + coluna;
+    }
+
+    private void removerInterno(long id) {
+        Long chave = celulaPorId.remove(id);
+        if (chave == null) {
+            return;
+        }
+        Celula celula = celulas.get(chave);
+        celula.remover(id);
+        if (celula.tamanho == 0) {
+            celulas.remove(chave);
+        }
+    }
+
+    record Vizinho<T>(T item, double distanciaKm) {
+    }
+
+    /**
+     * Pontos de uma célula em arrays paralelos; a remoção troca o removido pelo último.
+     */
+    private final class Celula {
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private Object[] itens = new Object[4];
+        private int tamanho;
+
+        void adicionar(long id, double latitude, double longitude, T item) {
+            if (tamanho == ids.length) {
+                int capacidade = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacidade);
+                latitudes = Arrays.copyOf(latitudes, capacidade);
+                longitudes = Arrays.copyOf(longitudes, capacidade);
+                itens = Arrays.copyOf(itens, capacidade);
+            }
+            ids[tamanho] = id;
+            latitudes[tamanho] = latitude;
+            longitudes[tamanho] = longitude;
+            itens[tamanho] = item;
+            tamanho++;
+        }
+
+        void remover(long id) {
+            for (int i = 0; i < tamanho; i++) {
+                if (ids[i] == id) {
+                    tamanho--;
+                    ids[i] = ids[tamanho];
+                    latitudes[i] = latitudes[tamanho];
+                    longitudes[i] = longitudes[tamanho];
+                    itens[i] = itens[tamanho];
+                    itens[tamanho] = null;
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void coletar(double latitude, double longitude, double raioKm, List<Vizinho<T>> destino) {
+            for (int i = 0; i < tamanho; i++) {
+                double distancia = distanciaKm(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distancia <= raioKm) {
+                    destino.add(new Vizinho<>((T) itens[i], distancia));
+                }
+            }
+        }
+    }
+}
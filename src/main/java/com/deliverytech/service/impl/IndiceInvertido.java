@@ -0,0 +1,451 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.ItemBuscaResponse;
+import com.deliverytech.dto.response.ResultadoBuscaResponse;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Índice invertido em memória para busca textual.
+ *
+ * Cada documento recebe um número interno crescente; para cada termo (texto normalizado, sem acentos)
+ * o índice guarda a lista ordenada dos documentos que o contêm e em quais campos. Os termos ficam em
+ * ordem alfabética, então um prefixo é um intervalo do dicionário. Uma alteração marca o documento
+ * antigo como removido e indexa um novo número, mantendo as listas sempre ordenadas e só com inserções
+ * no fim; quando os removidos passam da metade, as listas são compactadas.
+ *
+ * A relevância soma, para cada termo da busca, idf x peso dos campos em que o termo aparece
+ * (termos encontrados só por prefixo valem metade). Todos os termos da busca precisam aparecer.
+ * Leituras concorrentes; escritas exclusivas.
+ */
+class IndiceInvertido {
+
+    static final int MAX_EXPANSOES_PREFIXO = 64;
+    private static final float FATOR_PREFIXO = 0.5f;
+    private static final int MIN_REMOVIDOS_COMPACTAR = 10_000;
+    private static final int SEM_CATEGORIA = -1;
+    private static final int REMOVIDO = -2;
+    private static final int SEM_FILTRO = -3;
+    private static final int CATEGORIA_INEXISTENTE = -4;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "com", "em", "na", "no", "nas", "nos",
+            "para", "por", "um", "uma", "ao", "sem");
+
+    // Peso de cada combinação de campos em que um termo aparece (soma dos pesos dos campos)
+    private final float[] pesoPorMascara = new float[256];
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> termos = new TreeMap<>();
+    private final Map<Long, Integer> docPorId = new HashMap<>();
+    // Categorias numeradas: a categoria de cada documento fica em um int[] paralelo, para que facetas
+    // e filtro sejam contados sem acessar o documento
+    private final Map<String, Integer> categoriaPorNome = new HashMap<>();
+    private final List<String> categorias = new ArrayList<>();
+    private Documento[] docs = new Documento[1024];
+    private int[] categoriaDoc = new int[1024];
+    private int proximoDoc;
+    private int removidos;
+
+    /**
+     * @param pesos peso de cada campo, na mesma ordem em que os campos são passados para {@link #indexar}
+     */
+    IndiceInvertido(float... pesos) {
+        if (pesos.length > 8) {
+            throw new IllegalArgumentException("No máximo 8 campos por documento");
+        }
+        for (int mascara = 0; mascara < pesoPorMascara.length; mascara++) {
+            for (int campo = 0; campo < pesos.length; campo++) {
+                if ((mascara & (1 << campo)) != 0) {
+                    pesoPorMascara[mascara] += pesos[campo];
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) o documento com o id informado.
+     */
+    void indexar(Long id, String categoria, ItemBuscaResponse item, String... campos) {
+        aplicar(List.of(new Alteracao(id, categoria, item, campos)));
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica um lote de alterações com um único lock de escrita: as buscas esperam uma vez pelo lote,
+     * não uma vez por documento. A tokenização de todo o lote é feita antes, fora do lock.
+     */
+    void aplicar(List<Alteracao> alteracoes) {
+        List<Preparada> preparadas = new ArrayList<>(alteracoes.size());
+        for (Alteracao alteracao : alteracoes) {
+            preparadas.add(preparar(alteracao));
+        }
+        lock.writeLock().lock();
+        try {
+            for (Preparada preparada : preparadas) {
+                removerInterno(preparada.documento().id());
+                if (!preparada.mascaras().isEmpty()) {
+                    inserirInterno(preparada);
+                }
+            }
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Preparada preparar(Alteracao alteracao) {
+        Map<String, Integer> mascaras = new HashMap<>();
+        if (alteracao.item() != null) {
+            for (int campo = 0; campo < alteracao.campos().length; campo++) {
+                int bit = 1 << campo;
+                for (String termo : tokenizar(alteracao.campos()[campo])) {
+                    mascaras.merge(termo, bit, (a, b) -> a | b);
+                }
+            }
+        }
+        String categoria = alteracao.categoria();
+        String categoriaNormalizada = categoria != null && !categoria.isBlank() ? normalizar(categoria) : null;
+        return new Preparada(new Documento(alteracao.id(), alteracao.item()), categoria, categoriaNormalizada, mascaras);
+    }
+
+    private void inserirInterno(Preparada preparada) {
+        int doc = proximoDoc++;
+        if (doc == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+            categoriaDoc = Arrays.copyOf(categoriaDoc, docs.length);
+        }
+        docs[doc] = preparada.documento();
+        categoriaDoc[doc] = preparada.categoriaNormalizada() == null ? SEM_CATEGORIA
+                : categoriaPorNome.computeIfAbsent(preparada.categoriaNormalizada(), c -> {
+                    categorias.add(preparada.categoria());
+                    return categorias.size() - 1;
+                });
+        docPorId.put(preparada.documento().id(), doc);
+        preparada.mascaras().forEach((termo, mascara) -> termos.computeIfAbsent(termo, t -> new Postings()).adicionar(doc, mascara.byteValue()));
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return docPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param categoria se informada, só documentos dessa categoria entram no total e nos itens;
+     *                  as facetas são sempre calculadas sobre todos os encontrados, para que o cliente veja as outras categorias
+     */
+    ResultadoBuscaResponse buscar(String texto, String categoria, int limite) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenizar(texto)));
+        if (tokens.isEmpty()) {
+            return new ResultadoBuscaResponse(0, List.of(), Map.of());
+        }
+        String categoriaNormalizada = categoria != null && !categoria.isBlank() ? normalizar(categoria) : null;
+
+        lock.readLock().lock();
+        try {
+            int filtro = SEM_FILTRO;
+            if (categoriaNormalizada != null) {
+                filtro = categoriaPorNome.getOrDefault(categoriaNormalizada, CATEGORIA_INEXISTENTE);
+            }
+            int vivos = docPorId.size();
+            Correspondencias[] porToken = new Correspondencias[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                porToken[i] = corresponder(tokens.get(i), vivos, i == tokens.size() - 1);
+                if (porToken[i].tamanho == 0) {
+                    return new ResultadoBuscaResponse(0, List.of(), Map.of());
+                }
+            }
+            // Interseção começando pela lista mais curta
+            Arrays.sort(porToken, Comparator.comparingInt(c -> c.tamanho));
+            Correspondencias intersecao = porToken[0];
+            for (int i = 1; i < porToken.length; i++) {
+                intersecao = intersecao.intersecao(porToken[i]);
+            }
+            Correspondencias resultado = intersecao;
+
+            int[] facetas = new int[categorias.size()];
+            float[] relevancias = resultado.relevancias;
+            PriorityQueue<Integer> melhores = new PriorityQueue<>(limite + 1,
+                    Comparator.<Integer>comparingDouble(j -> relevancias[j]).thenComparing(j -> -resultado.docs[j]));
+            int total = 0;
+            for (int j = 0; j < resultado.tamanho; j++) {
+                int categoriaDocumento = categoriaDoc[resultado.docs[j]];
+                if (categoriaDocumento == REMOVIDO) {
+                    continue;
+                }
+                if (categoriaDocumento >= 0) {
+                    facetas[categoriaDocumento]++;
+                }
+                if (filtro != SEM_FILTRO && filtro != categoriaDocumento) {
+                    continue;
+                }
+                total++;
+                if (melhores.size() < limite) {
+                    melhores.add(j);
+                } else if (relevancias[j] > relevancias[melhores.peek()]) {
+                    melhores.poll();
+                    melhores.add(j);
+                }
+            }
+
+            ItemBuscaResponse[] itens = new ItemBuscaResponse[melhores.size()];
+            for (int i = itens.length - 1; i >= 0; i--) {
+                int j = melhores.poll();
+                itens[i] = docs[resultado.docs[j]].item().comRelevancia(Math.round(relevancias[j] * 1000) / 1000.0);
+            }
+            Map<String, Integer> facetasOrdenadas = new LinkedHashMap<>();
+            IntStream.range(0, facetas.length)
+                    .filter(c -> facetas[c] > 0)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingInt(c -> -facetas[c]).thenComparing(categorias::get))
+                    .forEach(c -> facetasOrdenadas.put(categorias.get(c), facetas[c]));
+            return new ResultadoBuscaResponse(total, List.of(itens), facetasOrdenadas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documentos que contêm o termo exato ou um termo que começa com ele, com a relevância do termo em cada um.
+     * O último token (o que o usuário ainda está digitando) sempre é expandido como prefixo; os anteriores,
+     * só quando não existem como termo completo.
+     */
+    private Correspondencias corresponder(String token, int vivos, boolean ultimo) {
+        List<Postings> listas = new ArrayList<>();
+        List<Float> fatores = new ArrayList<>();
+        Postings exato = termos.get(token);
+        if (exato != null) {
+            listas.add(exato);
+            fatores.add(1f);
+        }
+        NavigableMap<String, Postings> prefixados = ultimo || exato == null
+                ? termos.subMap(token, false, token + Character.MAX_VALUE, false)
+                : Collections.emptyNavigableMap();
+        for (Postings postings : prefixados.values()) {
+            if (listas.size() > MAX_EXPANSOES_PREFIXO) {
+                break;
+            }
+            listas.add(postings);
+            fatores.add(FATOR_PREFIXO);
+        }
+        if (listas.isEmpty()) {
+            return new Correspondencias(new int[0], new float[0], 0);
+        }
+        // Vários termos para o mesmo token: um documento vale pelo melhor termo que contém.
+        // União feita aos pares, em rodadas, para que cada documento seja copiado log(n) vezes
+        List<Correspondencias> parciais = new ArrayList<>(listas.size());
+        for (int i = 0; i < listas.size(); i++) {
+            parciais.add(pontuar(listas.get(i), fatores.get(i), vivos));
+        }
+        while (parciais.size() > 1) {
+            List<Correspondencias> proximas = new ArrayList<>((parciais.size() + 1) / 2);
+            for (int i = 0; i < parciais.size(); i += 2) {
+                proximas.add(i + 1 < parciais.size() ? parciais.get(i).uniao(parciais.get(i + 1)) : parciais.get(i));
+            }
+            parciais = proximas;
+        }
+        return parciais.get(0);
+    }
+
+    private Correspondencias pontuar(Postings postings, float fator, int vivos) {
+        float idf = (float) Math.log(1 + (double) Math.max(vivos, 1) / postings.tamanho);
+        float[] relevancias = new float[postings.tamanho];
+        for (int i = 0; i < postings.tamanho; i++) {
+            relevancias[i] = idf * pesoPorMascara[postings.campos[i] & 0xFF] * fator;
+        }
+        // As listas não mudam enquanto o lock de leitura estiver com a busca: o array pode ser usado direto
+        return new Correspondencias(postings.docs, relevancias, postings.tamanho);
+    }
+
+
+    private void removerInterno(Long id) {
+        Integer doc = docPorId.remove(id);
+        if (doc != null) {
+            docs[doc] = null;
+            categoriaDoc[doc] = REMOVIDO;
+            removidos++;
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (removidos < MIN_REMOVIDOS_COMPACTAR || removidos < docPorId.size()) {
+            return;
+        }
+        int[] novoNumero = new int[proximoDoc];
+        Documento[] novosDocs = new Documento[Math.max(1024, docPorId.size() * 2)];
+        int[] novasCategorias = new int[novosDocs.length];
+        int vivos = 0;
+        for (int doc = 0; doc < proximoDoc; doc++) {
+            if (docs[doc] == null) {
+                novoNumero[doc] = -1;
+            } else {
+                novoNumero[doc] = vivos;
+                novosDocs[vivos] = docs[doc];
+                novasCategorias[vivos] = categoriaDoc[doc];
+                docPorId.put(docs[doc].id(), vivos);
+                vivos++;
+            }
+        }
+        Iterator<Postings> listas = termos.values().iterator();
+        while (listas.hasNext()) {
+            Postings postings = listas.next();
+            postings.renumerar(novoNumero);
+            if (postings.tamanho == 0) {
+                listas.remove();
+            }
+        }
+        docs = novosDocs;
+        categoriaDoc = novasCategorias;
+        proximoDoc = vivos;
+        removidos = 0;
+    }
+
+    static String normalizar(String texto) {
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (token.length() > 1 && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Documento(Long id, ItemBuscaResponse item) {
+    }
+
+    /**
+     * Alteração de um documento para {@link #aplicar}; sem item, o documento é removido.
+     * Os campos seguem a ordem dos pesos passados ao construtor.
+     */
+    record Alteracao(Long id, String categoria, ItemBuscaResponse item, String... campos) {
+    }
+
+    // Alteração já tokenizada, pronta para ser aplicada sob o lock
+    private record Preparada(Documento documento, String categoria, String categoriaNormalizada, Map<String, Integer> mascaras) {
+    }
+
+    /**
+     * Lista de documentos de um termo, em ordem crescente, com os campos em que o termo aparece.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private byte[] campos = new byte[4];
+        private int tamanho;
+
+        void adicionar(int doc, byte mascara) {
+            if (tamanho == docs.length) {
+                docs = Arrays.copyOf(docs, tamanho * 2);
+                campos = Arrays.copyOf(campos, tamanho * 2);
+            }
+            docs[tamanho] = doc;
+            campos[tamanho] = mascara;
+            tamanho++;
+        }
+
+        void renumerar(int[] novoNumero) {
+            int vivos = 0;
+            for (int i = 0; i < tamanho; i++) {
+                int novo = novoNumero[docs[i]];
+                if (novo >= 0) {
+                    docs[vivos] = novo;
+                    campos[vivos] = campos[i];
+                    vivos++;
+                }
+            }
+            tamanho = vivos;
+            if (tamanho < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, tamanho));
+                campos = Arrays.copyOf(campos, Math.max(4, tamanho));
+            }
+        }
+    }
+
+    /**
+     * Documentos (ordenados) encontrados para parte da busca, com a relevância acumulada de cada um.
+     */
+    private static final class Correspondencias {
+        private final int[] docs;
+        private final float[] relevancias;
+        private final int tamanho;
+
+        Correspondencias(int[] docs, float[] relevancias, int tamanho) {
+            this.docs = docs;
+            this.relevancias = relevancias;
+            this.tamanho = tamanho;
+        }
+
+        Correspondencias intersecao(Correspondencias outra) {
+            int[] docsComuns = new int[Math.min(tamanho, outra.tamanho)];
+            float[] soma = new float[docsComuns.length];
+            int i = 0, j = 0, n = 0;
+            while (i < tamanho && j < outra.tamanho) {
+                if (docs[i] < outra.docs[j]) {
+                    i++;
+                } else if (docs[i] > outra.docs[j]) {
+                    j++;
+                } else {
+                    docsComuns[n] = docs[i];
+                    soma[n++] = relevancias[i++] + outra.relevancias[j++];
+                }
+            }
+            return new Correspondencias(docsComuns, soma, n);
+        }
+
+        Correspondencias uniao(Correspondencias outra) {
+            int[] todos = new int[tamanho + outra.tamanho];
+            float[] maximo = new float[todos.length];
+            int i = 0, j = 0, n = 0;
+            while (i < tamanho || j < outra.tamanho) {
+                if (j == outra.tamanho || (i < tamanho && docs[i] < outra.docs[j])) {
+                    todos[n] = docs[i];
+                    maximo[n++] = relevancias[i++];
+                } else if (i == tamanho || docs[i] > outra.docs[j]) {
+                    todos[n] = outra.docs[j];
+                    maximo[n++] = outra.relevancias[j++];
+                } else {
+                    todos[n] = docs[i];
+                    maximo[n++] = Math.max(relevancias[i++], outra.relevancias[j++]);
+                }
+            }
+            return new Correspondencias(todos, maximo, n);
+        }
+    }
+}
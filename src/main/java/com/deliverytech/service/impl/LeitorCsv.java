@@ -0,0 +1,97 @@
+package com.deliverytech.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) que lê um registro por vez do Reader.
+ * Aceita campos entre aspas com vírgulas, quebras de linha e aspas duplicadas (""),
+ * e finais de linha LF ou CRLF. O Reader deve ser bufferizado.
+ */
+class LeitorCsv {
+
+    private final Reader reader;
+    private final StringBuilder campo = new StringBuilder();
+    private long linha = 1;
+    private long linhaDoRegistro;
+    private boolean fim;
+
+    LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return os campos do próximo registro, ou null no fim da entrada. Linhas em branco são ignoradas.
+     */
+    List<String> proximoRegistro() throws IOException {
+        while (!fim) {
+            linhaDoRegistro = linha;
+            List<String> campos = lerRegistro();
+            if (campos != null && !(campos.size() == 1 && campos.get(0).isEmpty())) {
+                return campos;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Linha da entrada em que começa o último registro lido (a primeira linha é 1).
+     */
+    long linhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            leuAlgo = true;
+            if (entreAspas) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int proximo = reader.read();
+                    if (proximo == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (proximo != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                linha++;
+                campos.add(removerCr(campo));
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+        }
+        fim = true;
+        if (!leuAlgo) {
+            return null;
+        }
+        campos.add(removerCr(campo));
+        return campos;
+    }
+
+    private static String removerCr(StringBuilder campo) {
+        int tamanho = campo.length();
+        return tamanho > 0 && campo.charAt(tamanho - 1) == '\r' ? campo.substring(0, tamanho - 1) : campo.toString();
+    }
+}
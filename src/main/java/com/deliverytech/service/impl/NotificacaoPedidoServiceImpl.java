@@ -0,0 +1,213 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.NotificacaoPedidoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hub de Server-Sent Events para mudanças de status de pedidos.
+ *
+ * Cada assinante tem um buffer limitado; a publicação só enfileira (nunca escreve na conexão)
+ * e o envio é feito por uma thread virtual criada apenas enquanto há mensagens no buffer.
+ * Conexões ociosas não ocupam thread nenhuma: só a entrada no mapa e o heartbeat periódico,
+ * que também detecta conexões fechadas pelo cliente.
+ * Se um assinante lento enche o buffer, as mensagens mais antigas são descartadas:
+ * o que importa para quem acompanha o pedido é o status mais recente.
+ * Só é possível assinar pedidos e restaurantes que existem: um ID desconhecido resulta em 404
+ * antes de qualquer conexão ou entrada no mapa ser criada.
+ * Com várias instâncias, as mudanças feitas nas outras chegam pelo {@link com.deliverytech.event.ReplicadorEventos}.
+ */
+@Service
+public class NotificacaoPedidoServiceImpl implements NotificacaoPedidoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificacaoPedidoServiceImpl.class);
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, Set<Assinante>> porPedido = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> porRestaurante = new ConcurrentHashMap<>();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("sse-heartbeat").daemon().unstarted(r));
+
+    private final PedidoRepository pedidoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final int capacidadeBuffer;
+    private final long timeoutMs;
+    private final Counter descartes;
+
+    public NotificacaoPedidoServiceImpl(PedidoRepository pedidoRepository,
+                                        RestauranteRepository restauranteRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${deliverytech.sse.capacidade-buffer:32}") int capacidadeBuffer,
+                                        @Value("${deliverytech.sse.intervalo-heartbeat:15s}") Duration intervaloHeartbeat,
+                                        @Value("${deliverytech.sse.timeout:30m}") Duration timeout) {
+        this.pedidoRepository = pedidoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.capacidadeBuffer = capacidadeBuffer;
+        this.timeoutMs = timeout.toMillis();
+        this.descartes = Counter.builder("deliverytech.sse.descartados")
+                .description("Mensagens descartadas por assinantes lentos com o buffer cheio")
+                .register(meterRegistry);
+        Gauge.builder("deliverytech.sse.assinantes", assinantes, Set::size)
+                .description("Conexões SSE abertas")
+                .register(meterRegistry);
+        long intervalo = intervaloHeartbeat.toMillis();
+        agendador.scheduleAtFixedRate(() -> assinantes.forEach(a -> a.enfileirar(HEARTBEAT)),
+                intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public SseEmitter assinarPedido(Long pedidoId) {
+        if (!pedidoRepository.existsById(pedidoId)) {
+            throw new EntityNotFoundException("Pedido", pedidoId);
+        }
+        return assinar(porPedido, pedidoId);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public SseEmitter assinarRestaurante(Long restauranteId) {
+        if (!restauranteRepository.existsById(restauranteId)) {
+            throw new EntityNotFoundException("Restaurante", restauranteId);
+        }
+        return assinar(porRestaurante, restauranteId);
+    }
+
+    /**
+     * Repassa a mudança de status para quem acompanha o pedido e o restaurante.
+     * Executado depois do commit, para que ninguém veja um status que foi revertido.
+     * Se o evento veio sem o restaurante, ele só é buscado no banco quando alguém acompanha
+     * restaurantes, e numa thread virtual, fora da transação e da requisição que mudou o status.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        publicar(porPedido.get(evento.pedidoId()), evento);
+        if (evento.restauranteId() != null) {
+            publicar(porRestaurante.get(evento.restauranteId()), evento);
+        } else if (!porRestaurante.isEmpty()) {
+            envios.execute(() -> pedidoRepository.findRestauranteIdById(evento.pedidoId())
+                    .ifPresent(restauranteId -> publicar(porRestaurante.get(restauranteId), evento.comRestaurante(restauranteId))));
+        }
+    }
+
+    private void publicar(Set<Assinante> destino, StatusPedidoAlteradoEvent evento) {
+        if (destino != null) {
+            destino.forEach(a -> a.enfileirar(evento));
+        }
+    }
+
+    private SseEmitter assinar(Map<Long, Set<Assinante>> topico, Long chave) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(emitter, topico, chave);
+        topico.compute(chave, (k, atuais) -> {
+            Set<Assinante> conjunto = atuais != null ? atuais : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+        assinantes.add(assinante);
+        emitter.onCompletion(assinante::remover);
+        emitter.onTimeout(assinante::remover);
+        emitter.onError(erro -> assinante.remover());
+        // Primeira mensagem: confirma a conexão e envia os headers imediatamente
+        assinante.enfileirar(HEARTBEAT);
+        return emitter;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        assinantes.forEach(a -> a.emitter.complete());
+        envios.shutdown();
+    }
+
+    private final class Assinante {
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Assinante>> topico;
+        private final Long chave;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(capacidadeBuffer);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        Assinante(SseEmitter emitter, Map<Long, Set<Assinante>> topico, Long chave) {
+            this.emitter = emitter;
+            this.topico = topico;
+            this.chave = chave;
+        }
+
+        void enfileirar(Object mensagem) {
+            while (!buffer.offer(mensagem)) {
+                if (buffer.poll() != null) {
+                    descartes.increment();
+                }
+            }
+            if (enviando.compareAndSet(false, true)) {
+                envios.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            try {
+                Object mensagem;
+                while ((mensagem = buffer.poll()) != null) {
+                    if (mensagem == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        StatusPedidoAlteradoEvent evento = (StatusPedidoAlteradoEvent) mensagem;
+                        emitter.send(SseEmitter.event().name("status").data(evento, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexão encerrada pelo cliente ou emitter já finalizado: encerra a requisição assíncrona
+                // agora, em vez de deixá-la aberta até o timeout
+                logger.debug("Assinante SSE desconectado: {}", e.getMessage());
+                remover();
+                buffer.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                enviando.set(false);
+            }
+            // Mensagem que chegou entre o último poll e a liberação do flag
+            if (!buffer.isEmpty() && enviando.compareAndSet(false, true)) {
+                envios.execute(this::drenar);
+            }
+        }
+
+        void remover() {
+            assinantes.remove(this);
+            topico.computeIfPresent(chave, (k, atuais) -> {
+                atuais.remove(this);
+                return atuais.isEmpty() ? null : atuais;
+            });
+        }
+    }
+}
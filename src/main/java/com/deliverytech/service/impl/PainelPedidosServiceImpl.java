@@ -0,0 +1,167 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.PainelPedidosService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Painel de pedidos ativos por restaurante, mantido em memória.
+ *
+ * Guarda apenas os pedidos que ainda não foram entregues nem cancelados, agrupados por status
+ * (na ordem em que entraram no status). É montado a partir do banco na inicialização e depois
+ * atualizado pelos eventos de mudança de status, então a consulta do painel não acessa o banco
+ * e custa proporcional aos pedidos em andamento, não ao histórico do restaurante.
+ *
+ * Os eventos chegam depois do commit, na thread de quem fez o commit, então os eventos de um mesmo
+ * pedido podem chegar fora de ordem. Um pedido que chegou a um status final deixa uma marca
+ * (limitada em tamanho e tempo) para que um evento atrasado, como o CRIADO depois do CANCELADO,
+ * não o coloque de volta no painel.
+ *
+ * Com várias instâncias (Redis habilitado), cada uma tem o próprio painel e as transições feitas nas
+ * outras chegam pelo {@link com.deliverytech.event.ReplicadorEventos}, alguns milissegundos depois do
+ * commit. Uma transição perdida durante uma queda do Redis só é recuperada quando a instância reinicia.
+ */
+@Service
+@RequiredArgsConstructor
+public class PainelPedidosServiceImpl implements PainelPedidosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PainelPedidosServiceImpl.class);
+    private static final Set<StatusPedido> STATUS_ATIVOS = EnumSet.of(
+            StatusPedido.CRIADO, StatusPedido.CONFIRMADO, StatusPedido.EM_PREPARACAO, StatusPedido.ENVIADO);
+
+    private final PedidoRepository pedidoRepository;
+
+    private final Map<Long, Painel> paineis = new ConcurrentHashMap<>();
+    // Pedido em andamento -> restaurante, para eventos publicados sem o restaurante
+    private final Map<Long, Long> restaurantePorPedido = new ConcurrentHashMap<>();
+    // Pedido -> status final. Eventos fora de ordem chegam em milissegundos; alguns minutos bastam
+    private final Cache<Long, StatusPedido> finalizados = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /**
+     * Carrega os pedidos em andamento antes da aplicação começar a receber requisições.
+     */
+    @PostConstruct
+    void reconstruir() {
+        List<PedidoAtivoResponse> ativos = pedidoRepository.findAtivosByStatusIn(STATUS_ATIVOS);
+        paineis.clear();
+        restaurantePorPedido.clear();
+        for (PedidoAtivoResponse pedido : ativos) {
+            aplicar(pedido);
+        }
+        logger.info("Painel de pedidos montado com {} pedidos ativos em {} restaurantes", ativos.size(), paineis.size());
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public Map<StatusPedido, List<PedidoAtivoResponse>> pedidosAtivos(Long restauranteId) {
+        Painel painel = paineis.get(restauranteId);
+        Map<StatusPedido, List<PedidoAtivoResponse>> resultado = new EnumMap<>(StatusPedido.class);
+        for (StatusPedido status : STATUS_ATIVOS) {
+            resultado.put(status, new ArrayList<>());
+        }
+        if (painel != null) {
+            synchronized (painel) {
+                painel.porStatus.forEach((status, pedidos) -> resultado.get(status).addAll(pedidos.values()));
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public Optional<Long> restauranteDoPedido(Long pedidoId) {
+        return Optional.ofNullable(restaurantePorPedido.get(pedidoId));
+    }
+
+    /**
+     * Um evento sem restaurante é de um pedido que o painel não conhecia quando foi publicado
+     * (o CRIADO ainda não tinha chegado). Se o pedido já chegou ao painel, o restaurante vem de lá;
+     * senão, um status final ainda deixa a marca, para que o CRIADO atrasado não o coloque no painel.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        Long restauranteId = evento.restauranteId() != null
+                ? evento.restauranteId()
+                : restaurantePorPedido.get(evento.pedidoId());
+        if (restauranteId == null) {
+            if (evento.status().isFinal()) {
+                finalizados.put(evento.pedidoId(), evento.status());
+            }
+            return;
+        }
+        LocalDateTime dataPedido = evento.status() == StatusPedido.CRIADO ? evento.instante() : null;
+        aplicar(new PedidoAtivoResponse(evento.pedidoId(), restauranteId, evento.status(), dataPedido, evento.instante()));
+    }
+
+    /**
+     * As transições só andam para frente no ciclo do pedido, então um evento com status
+     * anterior ao que o painel já conhece chegou atrasado e é ignorado. Isso vale também para
+     * pedidos que já saíram do painel por chegarem a um status final.
+     * A marca do status final é lida e gravada sob o mesmo lock do painel do restaurante.
+     */
+    private void aplicar(PedidoAtivoResponse novo) {
+        Painel painel = paineis.computeIfAbsent(novo.getRestauranteId(), id -> new Painel());
+        synchronized (painel) {
+            StatusPedido finalizado = finalizados.getIfPresent(novo.getId());
+            if (finalizado != null && finalizado.ordinal() >= novo.getStatus().ordinal()) {
+                return;
+            }
+            PedidoAtivoResponse atual = painel.porId.get(novo.getId());
+            if (atual != null) {
+                if (atual.getStatus().ordinal() >= novo.getStatus().ordinal()) {
+                    return;
+                }
+                painel.porStatus.get(atual.getStatus()).remove(atual.getId());
+                if (novo.getDataPedido() == null) {
+                    novo.setDataPedido(atual.getDataPedido());
+                }
+            }
+            if (novo.getStatus().isFinal()) {
+                painel.porId.remove(novo.getId());
+                restaurantePorPedido.remove(novo.getId());
+                finalizados.put(novo.getId(), novo.getStatus());
+                return;
+            }
+            painel.porId.put(novo.getId(), novo);
+            restaurantePorPedido.put(novo.getId(), novo.getRestauranteId());
+            painel.porStatus.get(novo.getStatus()).put(novo.getId(), novo);
+        }
+    }
+
+    private static final class Painel {
+        private final Map<Long, PedidoAtivoResponse> porId = new HashMap<>();
+        private final Map<StatusPedido, LinkedHashMap<Long, PedidoAtivoResponse>> porStatus = new EnumMap<>(StatusPedido.class);
+
+        Painel() {
+            for (StatusPedido status : STATUS_ATIVOS) {
+                porStatus.put(status, new LinkedHashMap<>());
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoAsyncResponse;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.exception.SobrecargaException;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.PedidoAsyncService;
+import com.deliverytech.service.PedidoService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recebimento assíncrono de pedidos.
+ *
+ * A requisição só é validada (Bean Validation, no controller) e colocada em uma fila limitada;
+ * o cliente recebe um protocolo para acompanhar o pedido. Escritores em segundo plano esvaziam
+ * a fila em lotes: clientes e produtos de todo o lote são buscados de uma vez e os pedidos
+ * são gravados em uma única transação (com o batch JDBC já configurado).
+ * Com a fila cheia, o pedido é recusado com {@link SobrecargaException} (429).
+ *
+ * Os escritores sobem antes do servidor web e só param depois que ele parou (ver {@link #getPhase()}),
+ * então nenhuma requisição recebida durante o desligamento gracioso é recusada por falta de escritores.
+ */
+@Service
+public class PedidoAsyncServiceImpl implements PedidoAsyncService, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoAsyncServiceImpl.class);
+
+    private final PedidoService pedidoService;
+    private final ClienteRepository clienteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PedidoPendente> fila;
+    private final int escritores;
+    private final int tamanhoLote;
+    private final Cache<String, PedidoAsyncResponse> situacoes;
+    private final Duration prazoParada;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean executando;
+
+    public PedidoAsyncServiceImpl(PedidoService pedidoService,
+                                  ClienteRepository clienteRepository,
+                                  ProdutoRepository produtoRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${deliverytech.pedidos.async.capacidade-fila:10000}") int capacidadeFila,
+                                  @Value("${deliverytech.pedidos.async.escritores:2}") int escritores,
+                                  @Value("${deliverytech.pedidos.async.tamanho-lote:100}") int tamanhoLote,
+                                  @Value("${deliverytech.pedidos.async.retencao-protocolo:15m}") Duration retencao,
+                                  @Value("${deliverytech.pedidos.async.prazo-parada:20s}") Duration prazoParada) {
+        this.pedidoService = pedidoService;
+        this.clienteRepository = clienteRepository;
+        this.produtoRepository = produtoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.escritores = escritores;
+        this.tamanhoLote = tamanhoLote;
+        this.prazoParada = prazoParada;
+        this.situacoes = Caffeine.newBuilder()
+                .expireAfterWrite(retencao)
+                .maximumSize(Math.max(capacidadeFila * 10L, 10_000))
+                .build();
+        Gauge.builder("deliverytech.pedidos.async.fila", fila, BlockingQueue::size)
+                .description("Pedidos aguardando gravação")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public PedidoAsyncResponse enfileirar(PedidoRequest request) {
+        String protocolo = UUID.randomUUID().toString();
+        PedidoAsyncResponse pendente = PedidoAsyncResponse.pendente(protocolo);
+        situacoes.put(protocolo, pendente);
+        if (!executando || !fila.offer(new PedidoPendente(protocolo, request))) {
+            situacoes.invalidate(protocolo);
+            throw new SobrecargaException("Fila de pedidos cheia. Tente novamente em instantes.", 1);
+        }
+        return pendente;
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public Optional<PedidoAsyncResponse> consultar(String protocolo) {
+        return Optional.ofNullable(situacoes.getIfPresent(protocolo));
+    }
+
+    private void escrever() {
+        List<PedidoPendente> lote = new ArrayList<>(tamanhoLote);
+        // Ao parar, continua até esvaziar a fila: pedidos já aceitos (202) não são descartados
+        while (executando || !fila.isEmpty()) {
+            try {
+                PedidoPendente primeiro = fila.poll(200, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Erro inesperado ao gravar lote de {} pedidos", lote.size(), e);
+                lote.forEach(p -> situacoes.put(p.protocolo(), PedidoAsyncResponse.rejeitado(p.protocolo(), "Erro ao gravar o pedido")));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação. Se ela falhar como um todo (ex.: erro de banco),
+     * cada pedido é regravado sozinho para que um pedido problemático não derrube os demais.
+     */
+    void gravarLote(List<PedidoPendente> lote) {
+        Map<String, PedidoAsyncResponse> resultado;
+        try {
+            resultado = transactionTemplate.execute(status -> gravar(lote));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao gravar lote de {} pedidos, gravando individualmente", lote.size(), e);
+            resultado = new HashMap<>();
+            for (PedidoPendente pendente : lote) {
+                try {
+                    resultado.putAll(transactionTemplate.execute(status -> gravar(List.of(pendente))));
+                } catch (RuntimeException erro) {
+                    logger.error("Falha ao gravar pedido do protocolo {}", pendente.protocolo(), erro);
+                    resultado.put(pendente.protocolo(), PedidoAsyncResponse.rejeitado(pendente.protocolo(), "Erro ao gravar o pedido"));
+                }
+            }
+        }
+        // Só publica a situação depois do commit
+        situacoes.putAll(resultado);
+    }
+
+    private Map<String, PedidoAsyncResponse> gravar(List<PedidoPendente> lote) {
+        Set<Long> clienteIds = new HashSet<>();
+        Set<Long> produtoIds = new HashSet<>();
+        for (PedidoPendente pendente : lote) {
+            clienteIds.add(pendente.request().getClienteId());
+            for (ItemPedidoRequest item : pendente.request().getItens()) {
+                produtoIds.add(item.getProdutoId());
+            }
+        }
+
+        Map<Long, Cliente> clientes = new HashMap<>();
+        for (Cliente cliente : clienteRepository.findAllById(clienteIds)) {
+            clientes.put(cliente.getId(), cliente);
+        }
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllComRestauranteByIdIn(produtoIds)) {
+            produtos.put(produto.getId(), produto);
+        }
+
+        Map<String, PedidoAsyncResponse> resultado = new HashMap<>();
+        for (PedidoPendente pendente : lote) {
+            PedidoRequest request = pendente.request();
+            try {
+                Cliente cliente = clientes.get(request.getClienteId());
+                if (cliente == null) {
+                    throw new EntityNotFoundException("Cliente", request.getClienteId());
+                }
+                Pedido salvo = pedidoService.criar(PedidoServiceImpl.montarPedido(cliente, request, produtos));
+                resultado.put(pendente.protocolo(), PedidoAsyncResponse.criado(pendente.protocolo(), salvo.getId()));
+            } catch (BusinessException e) {
+                resultado.put(pendente.protocolo(), PedidoAsyncResponse.rejeitado(pendente.protocolo(), e.getMessage()));
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public synchronized void start() {
+        executando = true;
+        for (int i = 1; i <= escritores; i++) {
+            threads.add(Thread.ofPlatform().name("pedido-escritor-" + i).start(this::escrever));
+        }
+    }
+
+    /**
+     * Espera os escritores esvaziarem a fila até o prazo de parada. Um escritor que não terminar
+     * (ex.: preso no banco) é interrompido, e os pedidos que sobraram na fila ficam registrados no log.
+     */
+    @Override
+    public synchronized void stop() {
+        executando = false;
+        long prazo = System.nanoTime() + prazoParada.toNanos();
+        try {
+            for (Thread thread : threads) {
+                thread.join(Duration.ofNanos(Math.max(0, prazo - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                logger.warn("Escritor {} não terminou em {}; interrompendo com {} pedidos na fila", thread.getName(), prazoParada, fila.size());
+                thread.interrupt();
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    /**
+     * Abaixo da fase do servidor web (SmartLifecycle.DEFAULT_PHASE - 2048 no Spring Boot): os escritores
+     * sobem antes das primeiras requisições e param depois do desligamento gracioso do servidor.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    record PedidoPendente(String protocolo, PedidoRequest request) {
+    }
+}
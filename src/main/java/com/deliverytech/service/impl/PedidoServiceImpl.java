@@ -1,56 +1,222 @@
 package com.deliverytech.service.impl;
 
-import com.deliverytech.model.Pedido;
-import com.deliverytech.model.StatusPedido;
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoResumoResponse;
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.ConflictException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.exception.ParametroInvalidoException;
+import com.deliverytech.model.*;
+import com.deliverytech.repository.ClienteRepository;
 import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.PainelPedidosService;
 import com.deliverytech.service.PedidoService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
 
+    // Campos do resumo que o histórico aceita em ?sort=; o resto do grafo do pedido não é ordenável
+    private static final List<String> ORDENAVEIS_HISTORICO = List.of("id", "dataPedido", "total", "status");
+
     private final PedidoRepository pedidoRepository;
+    private final ClienteRepository clienteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final PainelPedidosService painelPedidosService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Grava o agregado inteiro (pedido + itens) em uma única transação.
+     * Os itens são ligados ao pedido antes do save, e o flush no commit envia
+     * todos os INSERTs de uma vez em batch.
+     */
     @Override
+    @Timed("deliverytech.servico")
+    @Transactional
     public Pedido criar(Pedido pedido) {
         pedido.setStatus(StatusPedido.CRIADO);
-        return pedidoRepository.save(pedido);
+        if (pedido.getDataPedido() == null) {
+            pedido.setDataPedido(LocalDateTime.now());
+        }
+        if (pedido.getItens() != null) {
+            pedido.getItens().forEach(item -> item.setPedido(pedido));
+        }
+        pedido.setAtualizadoEm(LocalDateTime.now());
+        Pedido salvo = pedidoRepository.save(pedido);
+        eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(
+                salvo.getId(), salvo.getRestaurante() != null ? salvo.getRestaurante().getId() : null,
+                StatusPedido.CRIADO, salvo.getAtualizadoEm()));
+        return salvo;
+    }
+
+    /**
+     * Monta e salva um pedido a partir da requisição.
+     * Todos os produtos são buscados em um único SELECT (junto com o restaurante),
+     * então o número de consultas não cresce com o tamanho do carrinho.
+     */
+    @Override
+    @Timed("deliverytech.servico")
+    @Transactional
+    public Pedido criar(PedidoRequest request) {
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new EntityNotFoundException("Cliente", request.getClienteId()));
+
+        Set<Long> produtoIds = new HashSet<>();
+        for (ItemPedidoRequest item : request.getItens()) {
+            produtoIds.add(item.getProdutoId());
+        }
+
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllComRestauranteByIdIn(produtoIds)) {
+            produtos.put(produto.getId(), produto);
+        }
+
+        return criar(montarPedido(cliente, request, produtos));
+    }
+
+    /**
+     * Valida os itens e calcula o total em uma única passada sobre o carrinho.
+     * Não acessa o banco: recebe os produtos já carregados, indexados por ID.
+     */
+    static Pedido montarPedido(Cliente cliente, PedidoRequest request, Map<Long, Produto> produtos) {
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .status(StatusPedido.CRIADO)
+                .enderecoEntrega(request.getEnderecoEntrega())
+                .itens(new ArrayList<>(request.getItens().size()))
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (ItemPedidoRequest itemRequest : request.getItens()) {
+            Produto produto = produtos.get(itemRequest.getProdutoId());
+            if (produto == null) {
+                throw new EntityNotFoundException("Produto", itemRequest.getProdutoId());
+            }
+            if (!produto.getRestaurante().getId().equals(request.getRestauranteId())) {
+                throw new BusinessException(String.format(
+                        "Produto com ID %d não pertence ao restaurante com ID %d", produto.getId(), request.getRestauranteId()));
+            }
+            if (!Boolean.TRUE.equals(produto.getDisponivel())) {
+                throw new BusinessException(String.format("Produto com ID %d não está disponível", produto.getId()));
+            }
+
+            pedido.setRestaurante(produto.getRestaurante());
+            total = total.add(produto.getPreco().multiply(BigDecimal.valueOf(itemRequest.getQuantidade())));
+            pedido.adicionarItem(ItemPedido.builder()
+                    .produto(produto)
+                    .quantidade(itemRequest.getQuantidade())
+                    .precoUnitario(produto.getPreco())
+                    .build());
+        }
+
+        pedido.setTotal(total);
+        return pedido;
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public Optional<Pedido> buscarPorId(Long id) {
         return pedidoRepository.findById(id);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    @Transactional(readOnly = true)
+    public Optional<Pedido> buscarComItens(Long id) {
+        return pedidoRepository.findComItensById(id);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
     public List<Pedido> listarPorCliente(Long clienteId) {
         return pedidoRepository.findByClienteId(clienteId);
     }
 
+    /**
+     * Histórico paginado do cliente: uma consulta com a projeção e outra com a contagem,
+     * ambas pelo índice (cliente_id, data_pedido). Itens não são carregados.
+     * A data não é única: sem o ID como último critério, páginas por offset sobre pedidos com a
+     * mesma data podem repetir ou pular linhas. O ID é acrescentado também à ordenação enviada
+     * pelo cliente, na direção do primeiro critério. Campos fora de ORDENAVEIS_HISTORICO são recusados
+     * antes da consulta.
+     */
+    @Override
+    @Timed("deliverytech.servico")
+    @Transactional(readOnly = true)
+    public Page<PedidoResumoResponse> listarHistoricoCliente(Long clienteId, Pageable pageable) {
+        pageable.getSort().stream()
+                .filter(o -> !ORDENAVEIS_HISTORICO.contains(o.getProperty()))
+                .findFirst()
+                .ifPresent(o -> {
+                    throw new ParametroInvalidoException("Não é possível ordenar o histórico por '" + o.getProperty()
+                            + "'. Campos aceitos: " + String.join(", ", ORDENAVEIS_HISTORICO));
+                });
+        Sort ordem = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "dataPedido");
+        if (ordem.getOrderFor("id") == null) {
+            ordem = ordem.and(Sort.by(ordem.iterator().next().getDirection(), "id"));
+        }
+        return pedidoRepository.findResumosByClienteId(clienteId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ordem));
+    }
+
     @Override
+    @Timed("deliverytech.servico")
     public List<Pedido> listarPorRestaurante(Long restauranteId) {
         return pedidoRepository.findByRestauranteId(restauranteId);
     }
 
+    /**
+     * Aplica a transição com um UPDATE condicional (where status in origens).
+     * O status atual só é consultado quando nenhuma linha foi alterada, para diferenciar
+     * pedido inexistente (404) de transição inválida ou concorrente (409).
+     * Só pedidos em andamento mudam de status, e todos estão no painel em memória: o restaurante
+     * do evento vem de lá, sem outra consulta dentro da transação.
+     */
     @Override
-    public Pedido atualizarStatus(Long id, StatusPedido status) {
-        return pedidoRepository.findById(id)
-            .map(p -> {
-                p.setStatus(status);
-                return pedidoRepository.save(p);
-            }).orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+    @Timed("deliverytech.servico")
+    @Transactional
+    public void atualizarStatus(Long id, StatusPedido status) {
+        Set<StatusPedido> origens = status.origens();
+        if (origens.isEmpty()) {
+            throw new BusinessException("Não é possível alterar um pedido para o status " + status);
+        }
+        LocalDateTime instante = LocalDateTime.now();
+        if (pedidoRepository.atualizarStatusSe(id, origens, status, instante) == 0) {
+            StatusPedido atual = pedidoRepository.findStatusById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
+            throw new ConflictException(String.format(
+                    "Pedido com ID %d está %s e não pode passar para %s", id, atual, status));
+        }
+        Long restauranteId = painelPedidosService.restauranteDoPedido(id).orElse(null);
+        eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(id, restauranteId, status, instante));
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    @Transactional
     public void cancelar(Long id) {
-        pedidoRepository.findById(id).ifPresent(p -> {
-            p.setStatus(StatusPedido.CANCELADO);
-            pedidoRepository.save(p);
-        });
+        atualizarStatus(id, StatusPedido.CANCELADO);
     }
 }
@@ -1,9 +1,14 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.event.ProdutoSalvoEvent;
+import com.deliverytech.exception.ConflictException;
 import com.deliverytech.model.Produto;
 import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.CardapioService;
 import com.deliverytech.service.ProdutoService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,39 +19,69 @@ import java.util.Optional;
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final CardapioService cardapioService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * O nome é único dentro do restaurante (uk_produto_restaurante_nome); um nome repetido
+     * é recusado com 409 antes de chegar à constraint do banco.
+     */
     @Override
+    @Timed("deliverytech.servico")
     public Produto cadastrar(Produto produto) {
-        return produtoRepository.save(produto);
+        if (produto.getRestaurante() != null
+                && produtoRepository.existsByRestauranteIdAndNome(produto.getRestaurante().getId(), produto.getNome())) {
+            throw nomeDuplicado(produto.getNome());
+        }
+        Produto salvo = produtoRepository.save(produto);
+        cardapioService.invalidar(salvo.getRestaurante().getId());
+        eventPublisher.publishEvent(ProdutoSalvoEvent.de(salvo));
+        return salvo;
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public Optional<Produto> buscarPorId(Long id) {
         return produtoRepository.findById(id);
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public List<Produto> buscarPorRestaurante(Long restauranteId) {
         return produtoRepository.findByRestauranteId(restauranteId);
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public Produto atualizar(Long id, Produto atualizado) {
-        return produtoRepository.findById(id)
+        Produto salvo = produtoRepository.findById(id)
             .map(p -> {
+                if (produtoRepository.existsByRestauranteIdAndNomeAndIdNot(p.getRestaurante().getId(), atualizado.getNome(), id)) {
+                    throw nomeDuplicado(atualizado.getNome());
+                }
                 p.setNome(atualizado.getNome());
                 p.setDescricao(atualizado.getDescricao());
                 p.setCategoria(atualizado.getCategoria());
                 p.setPreco(atualizado.getPreco());
                 return produtoRepository.save(p);
             }).orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+        cardapioService.invalidar(salvo.getRestaurante().getId());
+        eventPublisher.publishEvent(ProdutoSalvoEvent.de(salvo));
+        return salvo;
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public void alterarDisponibilidade(Long id, boolean disponivel) {
         produtoRepository.findById(id).ifPresent(p -> {
             p.setDisponivel(disponivel);
             produtoRepository.save(p);
+            cardapioService.invalidar(p.getRestaurante().getId());
+            eventPublisher.publishEvent(ProdutoSalvoEvent.de(p));
         });
     }
+
+    private ConflictException nomeDuplicado(String nome) {
+        return new ConflictException("Já existe um produto com o nome '" + nome + "' neste restaurante");
+    }
 }
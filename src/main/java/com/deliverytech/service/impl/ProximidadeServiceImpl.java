@@ -0,0 +1,116 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.RestauranteProximoResponse;
+import com.deliverytech.event.RestauranteSalvoEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.ProximidadeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Busca por proximidade sobre um índice espacial em memória com os restaurantes ativos que têm
+ * coordenadas. O índice é montado a partir do banco na inicialização e atualizado pelos eventos
+ * de gravação de restaurante, então a busca não acessa o banco.
+ * Com várias instâncias, os restaurantes gravados nas outras chegam pelo
+ * {@link com.deliverytech.event.ReplicadorEventos}, com a mesma janela de consistência do índice de busca.
+ */
+@Service
+public class ProximidadeServiceImpl implements ProximidadeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProximidadeServiceImpl.class);
+    static final double RAIO_MAXIMO_KM = 50;
+    static final int LIMITE_MAXIMO = 50;
+    // Lado da célula da grade: ~2,2 km, da ordem do raio de entrega típico
+    private static final double TAMANHO_CELULA_GRAUS = 0.02;
+
+    private final RestauranteRepository restauranteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double minutosPorKm;
+
+    private final IndiceGeografico<RestauranteProximoResponse> indice = new IndiceGeografico<>(TAMANHO_CELULA_GRAUS);
+
+    public ProximidadeServiceImpl(RestauranteRepository restauranteRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${deliverytech.proximidade.minutos-por-km:3}") double minutosPorKm) {
+        this.restauranteRepository = restauranteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.minutosPorKm = minutosPorKm;
+    }
+
+    /**
+     * Carrega o índice antes da aplicação começar a receber requisições, lendo a tabela como stream.
+     */
+    @PostConstruct
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<RestauranteSalvoEvent> todos = restauranteRepository.streamIndexacao()) {
+                todos.forEach(this::aoSalvarRestaurante);
+            }
+        });
+        logger.info("Índice de proximidade montado com {} restaurantes em {} ms",
+                indice.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    public List<RestauranteProximoResponse> restaurantesProximos(double latitude, double longitude, double raioKm, int limite, Ordem ordem) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("Coordenadas inválidas: a latitude deve estar entre -90 e 90 e a longitude entre -180 e 180");
+        }
+        if (!(raioKm > 0) || raioKm > RAIO_MAXIMO_KM) {
+            throw new BusinessException("O raio deve ser maior que zero e de no máximo " + (int) RAIO_MAXIMO_KM + " km");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        if (ordem == Ordem.DISTANCIA) {
+            List<RestauranteProximoResponse> resultado = new ArrayList<>();
+            for (IndiceGeografico.Vizinho<RestauranteProximoResponse> vizinho : indice.maisProximos(latitude, longitude, limite, raioKm)) {
+                resultado.add(comDistancia(vizinho));
+            }
+            return resultado;
+        }
+        // Pelo tempo, um restaurante mais longe pode vir antes: todos os do raio são candidatos
+        List<RestauranteProximoResponse> candidatos = new ArrayList<>();
+        for (IndiceGeografico.Vizinho<RestauranteProximoResponse> vizinho : indice.dentroDoRaio(latitude, longitude, raioKm)) {
+            candidatos.add(comDistancia(vizinho));
+        }
+        candidatos.sort(Comparator.comparingInt(RestauranteProximoResponse::getTempoEstimadoMinutos)
+                .thenComparingDouble(RestauranteProximoResponse::getDistanciaKm)
+                .thenComparing(RestauranteProximoResponse::getId));
+        return candidatos.size() > limite ? new ArrayList<>(candidatos.subList(0, limite)) : candidatos;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarRestaurante(RestauranteSalvoEvent evento) {
+        if (Boolean.FALSE.equals(evento.ativo()) || evento.latitude() == null || evento.longitude() == null) {
+            indice.remover(evento.restauranteId());
+            return;
+        }
+        indice.indexar(evento.restauranteId(), evento.latitude(), evento.longitude(),
+                new RestauranteProximoResponse(evento.restauranteId(), evento.nome(), evento.categoria(), evento.taxaEntrega(),
+                        evento.tempoEntregaMinutos(), evento.latitude(), evento.longitude(), 0, 0));
+    }
+
+    private RestauranteProximoResponse comDistancia(IndiceGeografico.Vizinho<RestauranteProximoResponse> vizinho) {
+        RestauranteProximoResponse restaurante = vizinho.item();
+        double distanciaKm = Math.round(vizinho.distanciaKm() * 100) / 100.0;
+        int tempoEntrega = restaurante.getTempoEntregaMinutos() != null ? restaurante.getTempoEntregaMinutos() : 0;
+        int tempoEstimado = tempoEntrega + (int) Math.round(vizinho.distanciaKm() * minutosPorKm);
+        return restaurante.comDistancia(distanciaKm, tempoEstimado);
+    }
+}
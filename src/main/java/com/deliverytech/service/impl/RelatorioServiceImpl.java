@@ -0,0 +1,109 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.FaturamentoDiarioResponse;
+import com.deliverytech.dto.response.ProdutoVendidoResponse;
+import com.deliverytech.dto.response.TicketMedioResponse;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.RelatorioService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Relatórios de vendas calculados pelo banco (GROUP BY sobre o índice de data_pedido):
+ * só os agregados trafegam, nenhuma entidade é carregada. Os resultados ficam alguns
+ * minutos no cache "relatorios", já que os mesmos períodos costumam ser consultados várias vezes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RelatorioServiceImpl implements RelatorioService {
+
+    static final long PERIODO_MAXIMO_DIAS = 366;
+    static final int LIMITE_MAXIMO = 100;
+
+    private final PedidoRepository pedidoRepository;
+    private final RestauranteRepository restauranteRepository;
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "relatorios", key = "#root.methodName + ':' + #inicio + ':' + #fim + ':' + #restauranteId")
+    public List<FaturamentoDiarioResponse> faturamentoDiario(LocalDate inicio, LocalDate fim, Long restauranteId) {
+        validarPeriodo(inicio, fim);
+        List<FaturamentoDiarioResponse> dias = pedidoRepository.faturamentoDiario(inicio.atStartOfDay(), fimExclusivo(fim), restauranteId);
+        // Nomes dos restaurantes em uma única consulta por chave primária
+        Set<Long> restauranteIds = new HashSet<>();
+        dias.forEach(d -> restauranteIds.add(d.getRestauranteId()));
+        Map<Long, String> nomes = new HashMap<>();
+        restauranteRepository.findAllById(restauranteIds).forEach(r -> nomes.put(r.getId(), r.getNome()));
+        dias.forEach(d -> d.setRestauranteNome(nomes.get(d.getRestauranteId())));
+        return dias;
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "relatorios", key = "#root.methodName + ':' + #inicio + ':' + #fim + ':' + #restauranteId")
+    public TicketMedioResponse ticketMedio(LocalDate inicio, LocalDate fim, Long restauranteId) {
+        validarPeriodo(inicio, fim);
+        return pedidoRepository.ticketMedio(inicio.atStartOfDay(), fimExclusivo(fim), restauranteId);
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "relatorios", key = "#root.methodName + ':' + #inicio + ':' + #fim + ':' + #restauranteId + ':' + #limite")
+    public List<ProdutoVendidoResponse> produtosMaisVendidos(LocalDate inicio, LocalDate fim, Long restauranteId, int limite) {
+        validarPeriodo(inicio, fim);
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return pedidoRepository.produtosMaisVendidos(inicio.atStartOfDay(), fimExclusivo(fim), restauranteId, PageRequest.of(0, limite));
+    }
+
+    /**
+     * Quantidade de pedidos do período em cada status; status sem pedidos aparecem com zero.
+     */
+    @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "relatorios", key = "#root.methodName + ':' + #inicio + ':' + #fim + ':' + #restauranteId")
+    public Map<StatusPedido, Long> funilStatus(LocalDate inicio, LocalDate fim, Long restauranteId) {
+        validarPeriodo(inicio, fim);
+        Map<StatusPedido, Long> funil = new EnumMap<>(StatusPedido.class);
+        for (StatusPedido status : StatusPedido.values()) {
+            funil.put(status, 0L);
+        }
+        for (Object[] linha : pedidoRepository.contagemPorStatus(inicio.atStartOfDay(), fimExclusivo(fim), restauranteId)) {
+            funil.put((StatusPedido) linha[0], (Long) linha[1]);
+        }
+        return funil;
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("A data final não pode ser anterior à data inicial");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= PERIODO_MAXIMO_DIAS) {
+            throw new BusinessException("O período do relatório não pode passar de " + PERIODO_MAXIMO_DIAS + " dias");
+        }
+    }
+
+    // O fim do período é inclusivo para quem chama; a consulta usa o início do dia seguinte (intervalo semiaberto)
+    private static LocalDateTime fimExclusivo(LocalDate fim) {
+        return fim.plusDays(1).atStartOfDay();
+    }
+}
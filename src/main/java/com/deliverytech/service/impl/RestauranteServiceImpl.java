@@ -1,12 +1,19 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.event.RestauranteSalvoEvent;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.repository.RestauranteRepository;
 import com.deliverytech.service.RestauranteService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,28 +24,46 @@ import java.util.Optional;
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Timed("deliverytech.servico")
+    @CachePut(value = "restaurantes", key = "#result.id")
     public Restaurante cadastrar(Restaurante restaurante) {
-        return restauranteRepository.save(restaurante);
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(RestauranteSalvoEvent.de(salvo));
+        return salvo;
     }
 
+    // Leituras por ID vêm do cache: a versão do restaurante em cache é usada como ETag
     @Override
+    @Timed("deliverytech.servico")
+    @Cacheable(value = "restaurantes", key = "#id", unless = "#result == null")
     public Optional<Restaurante> buscarPorId(Long id) {
         return restauranteRepository.findById(id);
     }
 
     @Override
+    @Timed("deliverytech.servico")
     public Page<Restaurante> listarTodos(Pageable pageable) {
         return restauranteRepository.findAll(pageable);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    public Slice<Restaurante> listarTodosAPartirDe(Long ultimoId, int tamanho) {
+        return restauranteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId != null ? ultimoId : 0L, PageRequest.of(0, tamanho));
+    }
+
+    @Override
+    @Timed("deliverytech.servico")
     public List<Restaurante> buscarPorCategoria(String categoria) {
         return restauranteRepository.findByCategoria(categoria);
     }
 
     @Override
+    @Timed("deliverytech.servico")
+    @CachePut(value = "restaurantes", key = "#id")
     public Restaurante atualizar(Long id, Restaurante atualizado) {
         return restauranteRepository.findById(id)
             .map(r -> {
@@ -47,7 +72,15 @@ public class RestauranteServiceImpl implements RestauranteService {
                 r.setCategoria(atualizado.getCategoria());
                 r.setTaxaEntrega(atualizado.getTaxaEntrega());
                 r.setTempoEntregaMinutos(atualizado.getTempoEntregaMinutos());
-                return restauranteRepository.save(r);
+                // Sem latitude e longitude no PUT, as coordenadas gravadas são mantidas
+                // (o restaurante continua na busca por proximidade)
+                if (atualizado.getLatitude() != null || atualizado.getLongitude() != null) {
+                    r.setLatitude(atualizado.getLatitude());
+                    r.setLongitude(atualizado.getLongitude());
+                }
+                Restaurante salvo = restauranteRepository.save(r);
+                eventPublisher.publishEvent(RestauranteSalvoEvent.de(salvo));
+                return salvo;
             }).orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
     }
 }
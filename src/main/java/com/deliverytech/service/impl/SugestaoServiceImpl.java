@@ -0,0 +1,191 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.SugestaoResponse;
+import com.deliverytech.event.ProdutoSalvoEvent;
+import com.deliverytech.event.ProdutosSalvosEvent;
+import com.deliverytech.event.RestauranteSalvoEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.SugestaoService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletar sobre uma trie em memória com restaurantes ativos, produtos disponíveis e as
+ * categorias de ambos. A trie é montada a partir do banco na inicialização e atualizada pelos
+ * eventos de gravação; a popularidade (itens vendidos) é recalculada no banco periodicamente
+ * e só as sugestões que mudaram são reindexadas.
+ * Com várias instâncias, as gravações feitas nas outras chegam pelo {@link com.deliverytech.event.ReplicadorEventos},
+ * com a mesma janela de consistência do índice de busca.
+ */
+@Service
+public class SugestaoServiceImpl implements SugestaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SugestaoServiceImpl.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final TrieSugestoes trie = new TrieSugestoes();
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("sugestoes-popularidade").daemon().unstarted(r));
+    private volatile Popularidade popularidade = new Popularidade(Map.of(), Map.of(), Map.of());
+
+    public SugestaoServiceImpl(RestauranteRepository restauranteRepository,
+                               ProdutoRepository produtoRepository,
+                               PedidoRepository pedidoRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${deliverytech.sugestoes.intervalo-popularidade:10m}") Duration intervaloPopularidade) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.transactionTemplate = transactionTemplate;
+        long intervalo = intervaloPopularidade.toMillis();
+        agendador.scheduleWithFixedDelay(this::atualizarPopularidade, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Carrega a trie antes da aplicação começar a receber requisições, lendo as tabelas como stream.
+     */
+    @PostConstruct
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        popularidade = carregarPopularidade();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<RestauranteSalvoEvent> todos = restauranteRepository.streamIndexacao()) {
+                todos.forEach(this::aoSalvarRestaurante);
+            }
+            try (Stream<ProdutoSalvoEvent> todos = produtoRepository.streamIndexacao()) {
+                todos.forEach(this::aoSalvarProduto);
+            }
+        });
+        logger.info("Trie de sugestões montada com {} sugestões em {} ms", trie.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Sem @Timed: o caminho de cada tecla não aloca; a latência aparece em http.server.requests
+    @Override
+    public List<SugestaoResponse> sugerir(String prefixo, int limite) {
+        if (limite < 1 || limite > TrieSugestoes.K) {
+            throw new BusinessException("O limite deve estar entre 1 e " + TrieSugestoes.K);
+        }
+        List<SugestaoResponse> sugestoes = trie.sugerir(prefixo);
+        return sugestoes.size() > limite ? sugestoes.subList(0, limite) : sugestoes;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarRestaurante(RestauranteSalvoEvent evento) {
+        adicionarCategoria(evento.categoria());
+        String chave = "R:" + evento.restauranteId();
+        if (Boolean.FALSE.equals(evento.ativo())) {
+            trie.remover(chave);
+            return;
+        }
+        trie.adicionar(chave, new SugestaoResponse(SugestaoResponse.Tipo.RESTAURANTE, evento.restauranteId(), evento.nome(), null,
+                popularidade.restaurantes().getOrDefault(evento.restauranteId(), 0L)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        adicionarCategoria(evento.categoria());
+        trie.aplicar(List.of(alteracao(evento)));
+    }
+
+    // Lote da importação de cardápio: as categorias novas primeiro, depois um único lock de escrita para os produtos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProdutos(ProdutosSalvosEvent evento) {
+        evento.produtos().stream().map(ProdutoSalvoEvent::categoria).distinct().forEach(this::adicionarCategoria);
+        trie.aplicar(evento.produtos().stream().map(this::alteracao).toList());
+    }
+
+    private TrieSugestoes.Alteracao alteracao(ProdutoSalvoEvent evento) {
+        String chave = "P:" + evento.produtoId();
+        if (Boolean.FALSE.equals(evento.disponivel())) {
+            return new TrieSugestoes.Alteracao(chave, null);
+        }
+        return new TrieSugestoes.Alteracao(chave, new SugestaoResponse(SugestaoResponse.Tipo.PRODUTO, evento.produtoId(), evento.nome(),
+                evento.restauranteId(), popularidade.produtos().getOrDefault(evento.produtoId(), 0L)));
+    }
+
+    /**
+     * Uma categoria entra na primeira vez que aparece (com o texto dessa primeira ocorrência)
+     * e continua sugerida até a próxima inicialização.
+     */
+    private void adicionarCategoria(String categoria) {
+        if (categoria == null || categoria.isBlank()) {
+            return;
+        }
+        String normalizada = TrieSugestoes.normalizar(categoria);
+        String chave = "C:" + normalizada;
+        if (!trie.contem(chave)) {
+            trie.adicionar(chave, new SugestaoResponse(SugestaoResponse.Tipo.CATEGORIA, null, categoria.trim(), null,
+                    popularidade.categorias().getOrDefault(normalizada, 0L)));
+        }
+    }
+
+    void atualizarPopularidade() {
+        try {
+            long inicio = System.nanoTime();
+            popularidade = carregarPopularidade();
+            int alteradas = trie.recalcularPopularidade(this::popularidadeDe);
+            logger.debug("Popularidade de {} sugestões atualizada em {} ms", alteradas, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Sem relançar: uma exceção cancelaria as próximas execuções agendadas
+            logger.warn("Falha ao atualizar a popularidade das sugestões", e);
+        }
+    }
+
+    private long popularidadeDe(SugestaoResponse sugestao) {
+        Popularidade atual = popularidade;
+        return switch (sugestao.getTipo()) {
+            case RESTAURANTE -> atual.restaurantes().getOrDefault(sugestao.getId(), 0L);
+            case PRODUTO -> atual.produtos().getOrDefault(sugestao.getId(), 0L);
+            case CATEGORIA -> atual.categorias().getOrDefault(TrieSugestoes.normalizar(sugestao.getTexto()), 0L);
+        };
+    }
+
+    private Popularidade carregarPopularidade() {
+        Map<Long, Long> produtos = new HashMap<>();
+        for (Object[] linha : pedidoRepository.popularidadePorProduto()) {
+            produtos.put((Long) linha[0], ((Number) linha[1]).longValue());
+        }
+        Map<Long, Long> restaurantes = new HashMap<>();
+        for (Object[] linha : pedidoRepository.popularidadePorRestaurante()) {
+            restaurantes.put((Long) linha[0], ((Number) linha[1]).longValue());
+        }
+        Map<String, Long> categorias = new HashMap<>();
+        for (Object[] linha : pedidoRepository.popularidadePorCategoria()) {
+            if (linha[0] != null) {
+                categorias.merge(TrieSugestoes.normalizar((String) linha[0]), ((Number) linha[1]).longValue(), Long::sum);
+            }
+        }
+        return new Popularidade(produtos, restaurantes, categorias);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    // Categorias pelo texto normalizado, para que "Pizzas" e "pizzas" somem juntas
+    private record Popularidade(Map<Long, Long> produtos, Map<Long, Long> restaurantes, Map<String, Long> categorias) {
+    }
+}
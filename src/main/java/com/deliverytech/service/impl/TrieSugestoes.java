@@ -0,0 +1,458 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.SugestaoResponse;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Trie compacta (radix tree) de sugestões para o autocompletar.
+ *
+ * Cada sugestão é indexada pelo texto normalizado (minúsculas, sem acentos, espaços simples)
+ * e também a partir de cada palavra seguinte, para que "calab" encontre "Pizza Calabresa".
+ * As arestas guardam sequências de caracteres e cada nó guarda, já pronta, a lista das
+ * {@link #K} sugestões mais populares da sua subárvore. A consulta só percorre os caracteres do
+ * prefixo (normalizando um a um) e devolve a lista do nó alcançado, sem alocar nada.
+ * Uma gravação marca os nós do caminho alterado, e as listas desses nós são recalculadas de baixo
+ * para cima ao fim da escrita: num lote, um nó compartilhado (a raiz, um prefixo comum) é recalculado
+ * uma vez, e não uma vez por sugestão.
+ * Leituras concorrentes; escritas exclusivas.
+ */
+class TrieSugestoes {
+
+    static final int K = 10;
+    private static final int MAX_PALAVRAS = 6;
+    private static final int MAX_TAMANHO_CHAVE = 100;
+    private static final No[] SEM_FILHOS = new No[0];
+    private static final SugestaoResponse[] SEM_TERMINAIS = new SugestaoResponse[0];
+    // Mais popular primeiro; no empate, o texto mais curto
+    private static final Comparator<SugestaoResponse> ORDEM = Comparator
+            .comparingLong(SugestaoResponse::getPopularidade).reversed()
+            .thenComparingInt((SugestaoResponse s) -> s.getTexto().length())
+            .thenComparing(SugestaoResponse::getTexto);
+    // Caracteres até U+024F já normalizados: minúscula sem acento, ou espaço para o que não é letra nem dígito
+    private static final char[] DOBRAS = new char[0x250];
+
+    static {
+        for (char c = 0; c < DOBRAS.length; c++) {
+            DOBRAS[c] = dobrarLento(c);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final No raiz = new No(new char[0]);
+    // Sugestão atual de cada chave (ex.: "P:42") e as chaves de trie sob as quais ela está indexada
+    private final Map<String, SugestaoResponse> porChave = new HashMap<>();
+    private final Map<String, List<String>> termosPorChave = new HashMap<>();
+
+    /**
+     * Indexa (ou substitui) a sugestão com a chave informada.
+     */
+    void adicionar(String chave, SugestaoResponse sugestao) {
+        aplicar(List.of(new Alteracao(chave, sugestao)));
+    }
+
+    void remover(String chave) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(chave);
+            recalcularAlterados(raiz);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica um lote de alterações com um único lock de escrita; os termos são calculados antes, fora do lock.
+     */
+    void aplicar(List<Alteracao> alteracoes) {
+        List<List<String>> termosPorAlteracao = new ArrayList<>(alteracoes.size());
+        for (Alteracao alteracao : alteracoes) {
+            termosPorAlteracao.add(alteracao.sugestao() != null ? termos(alteracao.sugestao().getTexto()) : List.of());
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < alteracoes.size(); i++) {
+                Alteracao alteracao = alteracoes.get(i);
+                List<String> termos = termosPorAlteracao.get(i);
+                removerInterno(alteracao.chave());
+                if (termos.isEmpty()) {
+                    continue;
+                }
+                for (String termo : termos) {
+                    inserir(termo, alteracao.sugestao());
+                }
+                porChave.put(alteracao.chave(), alteracao.sugestao());
+                termosPorChave.put(alteracao.chave(), termos);
+            }
+            recalcularAlterados(raiz);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean contem(String chave) {
+        lock.readLock().lock();
+        try {
+            return porChave.containsKey(chave);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porChave.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexa as sugestões cuja popularidade mudou.
+     *
+     * @return quantidade de sugestões alteradas
+     */
+    int recalcularPopularidade(ToLongFunction<SugestaoResponse> popularidade) {
+        lock.writeLock().lock();
+        try {
+            List<Map.Entry<String, SugestaoResponse>> alteradas = new ArrayList<>();
+            for (Map.Entry<String, SugestaoResponse> entrada : porChave.entrySet()) {
+                long nova = popularidade.applyAsLong(entrada.getValue());
+                if (nova != entrada.getValue().getPopularidade()) {
+                    alteradas.add(Map.entry(entrada.getKey(), entrada.getValue().comPopularidade(nova)));
+                }
+            }
+            for (Map.Entry<String, SugestaoResponse> alterada : alteradas) {
+                List<String> termos = termosPorChave.get(alterada.getKey());
+                removerInterno(alterada.getKey());
+                for (String termo : termos) {
+                    inserir(termo, alterada.getValue());
+                }
+                porChave.put(alterada.getKey(), alterada.getValue());
+                termosPorChave.put(alterada.getKey(), termos);
+            }
+            recalcularAlterados(raiz);
+            return alteradas.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * As sugestões mais populares que começam pelo prefixo (em qualquer palavra a partir da qual
+     * o texto foi indexado), da mais para a menos popular. A lista devolvida é imutável e compartilhada.
+     */
+    List<SugestaoResponse> sugerir(CharSequence prefixo) {
+        lock.readLock().lock();
+        try {
+            No no = raiz;
+            int posicao = 0;
+            boolean consumiu = false;
+            boolean espacoPendente = false;
+            for (int i = 0; i < prefixo.length(); i++) {
+                char c = dobrar(prefixo.charAt(i));
+                if (c == ' ') {
+                    // Espaços no início são ignorados e os repetidos contam como um
+                    espacoPendente = consumiu;
+                    continue;
+                }
+                for (int passo = espacoPendente ? 0 : 1; passo < 2; passo++) {
+                    char atual = passo == 0 ? ' ' : c;
+                    if (posicao < no.rotulo.length) {
+                        if (no.rotulo[posicao] != atual) {
+                            return List.of();
+                        }
+                        posicao++;
+                    } else {
+                        No filho = no.filho(atual);
+                        if (filho == null) {
+                            return List.of();
+                        }
+                        no = filho;
+                        posicao = 1;
+                    }
+                }
+                espacoPendente = false;
+                consumiu = true;
+            }
+            return consumiu ? no.melhores : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Texto normalizado com o mesmo mapeamento usado na consulta.
+     */
+    static String normalizar(String texto) {
+        StringBuilder normalizado = new StringBuilder(texto.length());
+        boolean espacoPendente = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = dobrar(texto.charAt(i));
+            if (c == ' ') {
+                espacoPendente = normalizado.length() > 0;
+                continue;
+            }
+            if (espacoPendente) {
+                normalizado.append(' ');
+                espacoPendente = false;
+            }
+            normalizado.append(c);
+        }
+        return normalizado.toString();
+    }
+
+    private static char dobrar(char c) {
+        if (c < DOBRAS.length) {
+            return DOBRAS[c];
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ';
+    }
+
+    private static char dobrarLento(char c) {
+        if (!Character.isLetterOrDigit(c)) {
+            return ' ';
+        }
+        String semAcento = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return semAcento.length() == 1 ? Character.toLowerCase(semAcento.charAt(0)) : Character.toLowerCase(c);
+    }
+
+    /**
+     * Chaves de trie de um texto: o texto normalizado inteiro e o trecho a partir de cada palavra seguinte.
+     */
+    private static List<String> termos(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String normalizado = normalizar(texto);
+        Set<String> termos = new LinkedHashSet<>();
+        int inicio = 0;
+        for (int palavra = 0; palavra < MAX_PALAVRAS && inicio < normalizado.length(); palavra++) {
+            String termo = normalizado.substring(inicio);
+            termos.add(termo.length() > MAX_TAMANHO_CHAVE ? termo.substring(0, MAX_TAMANHO_CHAVE) : termo);
+            int espaco = normalizado.indexOf(' ', inicio);
+            if (espaco < 0) {
+                break;
+            }
+            inicio = espaco + 1;
+        }
+        return new ArrayList<>(termos);
+    }
+
+    private void inserir(String termo, SugestaoResponse sugestao) {
+        List<No> caminho = new ArrayList<>();
+        No no = raiz;
+        caminho.add(no);
+        int i = 0;
+        while (i < termo.length()) {
+            int indice = no.indiceFilho(termo.charAt(i));
+            if (indice < 0) {
+                No novo = new No(termo.substring(i).toCharArray());
+                no.inserirFilho(novo);
+                no = novo;
+                caminho.add(no);
+                i = termo.length();
+                break;
+            }
+            No filho = no.filhos[indice];
+            int comum = 1;
+            while (comum < filho.rotulo.length && i + comum < termo.length() && filho.rotulo[comum] == termo.charAt(i + comum)) {
+                comum++;
+            }
+            if (comum < filho.rotulo.length) {
+                // O termo diverge no meio da aresta: ela é dividida em um nó intermediário
+                No meio = new No(Arrays.copyOfRange(filho.rotulo, 0, comum));
+                filho.rotulo = Arrays.copyOfRange(filho.rotulo, comum, filho.rotulo.length);
+                meio.filhos = new No[]{filho};
+                no.filhos[indice] = meio;
+                filho = meio;
+            }
+            i += comum;
+            no = filho;
+            caminho.add(no);
+        }
+        no.terminais = Arrays.copyOf(no.terminais, no.terminais.length + 1);
+        no.terminais[no.terminais.length - 1] = sugestao;
+        caminho.forEach(No::marcar);
+    }
+
+    private void removerInterno(String chave) {
+        SugestaoResponse atual = porChave.remove(chave);
+        if (atual == null) {
+            return;
+        }
+        for (String termo : termosPorChave.remove(chave)) {
+            retirar(termo, atual);
+        }
+    }
+
+    private void retirar(String termo, SugestaoResponse sugestao) {
+        List<No> caminho = new ArrayList<>();
+        No no = raiz;
+        caminho.add(no);
+        int i = 0;
+        while (i < termo.length()) {
+            no = no.filho(termo.charAt(i));
+            if (no == null) {
+                return;
+            }
+            i += no.rotulo.length;
+            caminho.add(no);
+        }
+        no.retirarTerminal(sugestao);
+        for (int j = caminho.size() - 1; j >= 1; j--) {
+            No atual = caminho.get(j);
+            if (atual.terminais.length == 0 && atual.filhos.length == 0) {
+                caminho.get(j - 1).retirarFilho(atual);
+                continue;
+            }
+            if (atual.terminais.length == 0 && atual.filhos.length == 1) {
+                // Nó sem sugestões próprias e com um só filho: as duas arestas viram uma
+                No unico = atual.filhos[0];
+                char[] rotulo = Arrays.copyOf(atual.rotulo, atual.rotulo.length + unico.rotulo.length);
+                System.arraycopy(unico.rotulo, 0, rotulo, atual.rotulo.length, unico.rotulo.length);
+                atual.rotulo = rotulo;
+                atual.filhos = unico.filhos;
+                atual.terminais = unico.terminais;
+            }
+            atual.marcar();
+        }
+        raiz.marcar();
+    }
+
+    /**
+     * Recalcula os nós marcados desde a última escrita, os filhos antes dos pais. Todo nó marcado tem os
+     * ancestrais marcados (o caminho inteiro desde a raiz é marcado), então a descida para nos nós não marcados.
+     */
+    private void recalcularAlterados(No no) {
+        if (!no.alterado) {
+            return;
+        }
+        for (No filho : no.filhos) {
+            recalcularAlterados(filho);
+        }
+        no.recalcular();
+        no.alterado = false;
+    }
+
+    /**
+     * Alteração de uma sugestão para {@link #aplicar}; sem sugestão, a chave é removida.
+     */
+    record Alteracao(String chave, SugestaoResponse sugestao) {
+    }
+
+    private static final class No {
+        private char[] rotulo;
+        // Ordenados pelo primeiro caractere do rótulo
+        private No[] filhos = SEM_FILHOS;
+        // Sugestões cujo termo termina exatamente neste nó
+        private SugestaoResponse[] terminais = SEM_TERMINAIS;
+        private List<SugestaoResponse> melhores = List.of();
+        // No caminho de uma alteração cujas melhores ainda não foram recalculadas
+        private boolean alterado;
+
+        No(char[] rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        void marcar() {
+            alterado = true;
+        }
+
+        No filho(char c) {
+            int indice = indiceFilho(c);
+            return indice >= 0 ? filhos[indice] : null;
+        }
+
+        int indiceFilho(char c) {
+            int baixo = 0;
+            int alto = filhos.length - 1;
+            while (baixo <= alto) {
+                int meio = (baixo + alto) >>> 1;
+                char primeiro = filhos[meio].rotulo[0];
+                if (primeiro < c) {
+                    baixo = meio + 1;
+                } else if (primeiro > c) {
+                    alto = meio - 1;
+                } else {
+                    return meio;
+                }
+            }
+            return -1;
+        }
+
+        void inserirFilho(No filho) {
+            int posicao = 0;
+            while (posicao < filhos.length && filhos[posicao].rotulo[0] < filho.rotulo[0]) {
+                posicao++;
+            }
+            No[] novos = new No[filhos.length + 1];
+            System.arraycopy(filhos, 0, novos, 0, posicao);
+            novos[posicao] = filho;
+            System.arraycopy(filhos, posicao, novos, posicao + 1, filhos.length - posicao);
+            filhos = novos;
+        }
+
+        void retirarFilho(No filho) {
+            for (int i = 0; i < filhos.length; i++) {
+                if (filhos[i] == filho) {
+                    No[] novos = new No[filhos.length - 1];
+                    System.arraycopy(filhos, 0, novos, 0, i);
+                    System.arraycopy(filhos, i + 1, novos, i, filhos.length - i - 1);
+                    filhos = novos;
+                    return;
+                }
+            }
+        }
+
+        void retirarTerminal(SugestaoResponse sugestao) {
+            for (int i = 0; i < terminais.length; i++) {
+                if (terminais[i] == sugestao) {
+                    SugestaoResponse[] novos = new SugestaoResponse[terminais.length - 1];
+                    System.arraycopy(terminais, 0, novos, 0, i);
+                    System.arraycopy(terminais, i + 1, novos, i, terminais.length - i - 1);
+                    terminais = novos;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * As melhores da subárvore saem das sugestões do próprio nó e das melhores de cada filho.
+         * A mesma sugestão pode vir de mais de um filho (indexada por mais de uma palavra).
+         */
+        void recalcular() {
+            List<SugestaoResponse> candidatas = new ArrayList<>(terminais.length + filhos.length * K);
+            candidatas.addAll(Arrays.asList(terminais));
+            for (No filho : filhos) {
+                candidatas.addAll(filho.melhores);
+            }
+            candidatas.sort(ORDEM);
+            List<SugestaoResponse> selecionadas = new ArrayList<>(K);
+            for (SugestaoResponse candidata : candidatas) {
+                if (selecionadas.size() == K) {
+                    break;
+                }
+                boolean repetida = false;
+                for (SugestaoResponse selecionada : selecionadas) {
+                    repetida |= selecionada == candidata;
+                }
+                if (!repetida) {
+                    selecionadas.add(candidata);
+                }
+            }
+            melhores = List.copyOf(selecionadas);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a paginação por OFFSET (Page + COUNT) com a paginação por cursor (Slice + keyset)
+ * em uma tabela com um milhão de restaurantes, nas páginas 1, 1000 e 10000.
+ * Executar com: mvn test -Pbenchmark -Dtest=PaginacaoBenchmarkTest
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark-paginacao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.deliverytech=INFO"
+})
+public class PaginacaoBenchmarkTest {
+
+    private static final int TOTAL_RESTAURANTES = 1_000_000;
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int[] PAGINAS = {1, 1000, 10000};
+    private static final int REPETICOES = 20;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @BeforeAll
+    void popularTabela() {
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 1; i <= TOTAL_RESTAURANTES; i++) {
+            lote.add(new Object[]{"Restaurante " + i, "Categoria " + (i % 20)});
+            if (lote.size() == 10_000) {
+                jdbcTemplate.batchUpdate("insert into restaurante (nome, categoria, ativo, versao) values (?, ?, true, 0)", lote);
+                lote.clear();
+            }
+        }
+    }
+
+    @Test
+    void compararOffsetComCursor() {
+        StringBuilder relatorio = new StringBuilder("\n");
+        relatorio.append(String.format("%-8s | %16s | %16s%n", "página", "offset (ms)", "cursor (ms)"));
+
+        for (int pagina : PAGINAS) {
+            int indice = pagina - 1;
+            // Último ID da página anterior: é o que o cliente teria recebido como cursor
+            Long ultimoId = indice == 0 ? 0L : restauranteRepository
+                    .findAll(PageRequest.of(indice - 1, TAMANHO_PAGINA, Sort.by("id"))).getContent()
+                    .get(TAMANHO_PAGINA - 1).getId();
+
+            double offset = medirMs(() -> restauranteRepository
+                    .findAll(PageRequest.of(indice, TAMANHO_PAGINA, Sort.by("id"))).getContent());
+            double cursor = medirMs(() -> restauranteRepository
+                    .findByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, TAMANHO_PAGINA)).getContent());
+
+            // As duas estratégias precisam devolver a mesma página
+            Slice<Restaurante> slice = restauranteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, TAMANHO_PAGINA));
+            assertEquals(restauranteRepository.findAll(PageRequest.of(indice, TAMANHO_PAGINA, Sort.by("id"))).getContent().get(0).getId(),
+                    slice.getContent().get(0).getId());
+
+            relatorio.append(String.format("%-8d | %16.2f | %16.2f%n", pagina, offset, cursor));
+        }
+        System.out.println(relatorio);
+    }
+
+    private double medirMs(Supplier<List<Restaurante>> consulta) {
+        for (int i = 0; i < 3; i++) {
+            consulta.get();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            assertEquals(TAMANHO_PAGINA, consulta.get().size());
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / REPETICOES;
+    }
+}
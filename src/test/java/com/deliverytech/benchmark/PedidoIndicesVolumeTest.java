@@ -0,0 +1,162 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Teste de volume: com um milhão de pedidos, cada consulta do PedidoRepository precisa
+ * ser resolvida por índice. O SQL gerado pelo Hibernate é capturado e o plano do H2
+ * (EXPLAIN) não pode conter varredura completa da tabela (tableScan).
+ * Executar com: mvn test -Pbenchmark -Dtest=PedidoIndicesVolumeTest
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:volume-pedidos;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.deliverytech.benchmark.PedidoIndicesVolumeTest$CapturaSql",
+        "logging.level.com.deliverytech=INFO"
+})
+public class PedidoIndicesVolumeTest {
+
+    private static final int TOTAL_PEDIDOS = 1_000_000;
+    private static final int CLIENTES = 1_000;
+    private static final int RESTAURANTES = 100;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    private Long clienteId;
+    private Long restauranteId;
+
+    @BeforeAll
+    void popularTabela() {
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.add(Cliente.builder().nome("Cliente " + i).email("volume-" + i + "@teste.com").ativo(true).build());
+        }
+        clienteId = clienteRepository.saveAll(clientes).get(0).getId();
+        List<Restaurante> restaurantes = new ArrayList<>();
+        for (int i = 0; i < RESTAURANTES; i++) {
+            restaurantes.add(Restaurante.builder().nome("Restaurante " + i).categoria("Categoria").ativo(true).build());
+        }
+        restauranteId = restauranteRepository.saveAll(restaurantes).get(0).getId();
+
+        // Um único INSERT ... SELECT gera o volume direto no banco
+        jdbcTemplate.update("""
+                insert into pedido (id, cliente_id, restaurante_id, status, data_pedido, total, versao)
+                select x, %d + mod(x, %d), %d + mod(x, %d),
+                       case mod(x, 10) when 0 then 'CRIADO' when 1 then 'CONFIRMADO' when 2 then 'CANCELADO' else 'ENTREGUE' end,
+                       dateadd('SECOND', -x * 30, timestamp '2026-01-01 00:00:00'), 50.00, 0
+                from system_range(1, %d)
+                """.formatted(clienteId, CLIENTES, restauranteId, RESTAURANTES, TOTAL_PEDIDOS));
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void todasAsConsultasDevemUsarIndice() {
+        LocalDateTime fim = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime inicio = fim.minusDays(7);
+        PageRequest pagina = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "dataPedido"));
+
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+        consultas.put("findByClienteId", () -> pedidoRepository.findByClienteId(clienteId));
+        consultas.put("findByRestauranteId", () -> pedidoRepository.findByRestauranteId(restauranteId));
+        consultas.put("findByStatus", () -> pedidoRepository.findByStatus(StatusPedido.CRIADO));
+        consultas.put("findByDataPedidoBetween", () -> pedidoRepository.findByDataPedidoBetween(inicio, fim));
+        consultas.put("findByClienteId (paginado)", () -> pedidoRepository.findByClienteId(clienteId, pagina));
+        consultas.put("findByClienteIdAndDataPedidoBetween", () ->
+                pedidoRepository.findByClienteIdAndDataPedidoBetween(clienteId, inicio, fim, pagina));
+        consultas.put("findByRestauranteIdAndDataPedidoBetween", () ->
+                pedidoRepository.findByRestauranteIdAndDataPedidoBetween(restauranteId, inicio, fim, pagina));
+        consultas.put("findByRestauranteIdAndStatusAndDataPedidoBetween", () ->
+                pedidoRepository.findByRestauranteIdAndStatusAndDataPedidoBetween(restauranteId, StatusPedido.CRIADO, inicio, fim, pagina));
+        consultas.put("findByStatusAndDataPedidoBetween", () ->
+                pedidoRepository.findByStatusAndDataPedidoBetween(StatusPedido.CONFIRMADO, inicio, fim, pagina));
+        consultas.put("faturamentoDiario", () -> pedidoRepository.faturamentoDiario(inicio, fim, null));
+        consultas.put("ticketMedio", () -> pedidoRepository.ticketMedio(inicio, fim, restauranteId));
+        consultas.put("contagemPorStatus", () -> pedidoRepository.contagemPorStatus(inicio, fim, null));
+
+        StringBuilder relatorio = new StringBuilder("\n");
+        consultas.forEach((nome, consulta) -> {
+            CapturaSql.limpar();
+            long inicioExecucao = System.nanoTime();
+            consulta.run();
+            double ms = (System.nanoTime() - inicioExecucao) / 1_000_000.0;
+
+            for (String sql : CapturaSql.capturados()) {
+                if (!sql.toLowerCase().contains("from pedido")) {
+                    continue;
+                }
+                String plano = explicar(sql);
+                relatorio.append(String.format("%-50s %8.2f ms%n%s%n%n", nome, ms, plano));
+                assertFalse(plano.contains("tableScan"), nome + " faz varredura completa:\n" + plano);
+            }
+        });
+        System.out.println(relatorio);
+    }
+
+    /**
+     * O H2 aceita EXPLAIN de um comando com parâmetros não preenchidos: o plano não depende dos valores.
+     */
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    /**
+     * Guarda o SQL de cada comando que o Hibernate envia ao banco.
+     */
+    public static class CapturaSql implements StatementInspector {
+
+        private static final List<String> CAPTURADOS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            CAPTURADOS.add(sql);
+            return sql;
+        }
+
+        static void limpar() {
+            CAPTURADOS.clear();
+        }
+
+        static List<String> capturados() {
+            synchronized (CAPTURADOS) {
+                return new ArrayList<>(CAPTURADOS);
+            }
+        }
+    }
+}
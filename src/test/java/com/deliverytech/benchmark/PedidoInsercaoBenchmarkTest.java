@@ -0,0 +1,241 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.model.*;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede a vazão de gravação do agregado Pedido + ItemPedido para pedidos de 1, 10 e 50 itens.
+ *
+ * "Antes" grava o mesmo agregado mapeado com IDENTITY (PedidoIdentity/ItemPedidoIdentity, só do
+ * benchmark): o Hibernate precisa executar cada INSERT na hora para ler o id gerado, então não há batch.
+ * "Depois" grava Pedido/ItemPedido, com ids de sequence em blocos e o batch JDBC de application.properties.
+ * Executar com: mvn test -Pbenchmark -Dtest=PedidoInsercaoBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.deliverytech=INFO"
+})
+public class PedidoInsercaoBenchmarkTest {
+
+    private static final int[] ITENS_POR_PEDIDO = {1, 10, 50};
+    private static final int PEDIDOS_POR_RODADA = 300;
+    private static final int PEDIDOS_AQUECIMENTO = 100;
+    // Servidor H2 por TCP: cada comando JDBC é uma ida e volta pela rede, como em um banco real.
+    // Threads daemon: o servidor fica no ar até o contexto (e o create-drop) fechar no fim da JVM
+    private static final Server SERVIDOR = iniciarServidor();
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:tcp://localhost:" + SERVIDOR.getPort() + "/mem:benchmark-insercao;DB_CLOSE_DELAY=-1");
+    }
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void prepararDados() {
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Benchmark").categoria("Teste").ativo(true).build());
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Benchmark").email("benchmark-" + System.nanoTime() + "@teste.com").ativo(true).build());
+
+        produtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            produtos.add(produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i).preco(BigDecimal.TEN).disponivel(true).restaurante(restaurante).build()));
+        }
+    }
+
+    @Test
+    void compararInsercaoComIdentityEComSequence() {
+        StringBuilder relatorio = new StringBuilder("\n");
+        relatorio.append(String.format("%-8s | %-12s | %14s | %14s%n", "itens", "modo", "pedidos/s", "inserts/s"));
+
+        for (int itens : ITENS_POR_PEDIDO) {
+            for (boolean comSequence : new boolean[]{false, true}) {
+                gravarPedidos(PEDIDOS_AQUECIMENTO, itens, comSequence);
+
+                long inicio = System.nanoTime();
+                gravarPedidos(PEDIDOS_POR_RODADA, itens, comSequence);
+                double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+                double pedidosPorSegundo = PEDIDOS_POR_RODADA / segundos;
+                double insertsPorSegundo = PEDIDOS_POR_RODADA * (1 + itens) / segundos;
+                relatorio.append(String.format("%-8d | %-12s | %14.0f | %14.0f%n",
+                        itens, comSequence ? "sequence" : "identity", pedidosPorSegundo, insertsPorSegundo));
+                assertTrue(pedidosPorSegundo > 0);
+            }
+        }
+        System.out.println(relatorio);
+    }
+
+    // Cada pedido é gravado em sua própria transação, como acontece em uma requisição real
+    private void gravarPedidos(int quantidade, int itensPorPedido, boolean comSequence) {
+        for (int n = 0; n < quantidade; n++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (comSequence) {
+                    pedidoRepository.save(novoPedido(itensPorPedido));
+                } else {
+                    entityManager.persist(novoPedidoIdentity(itensPorPedido));
+                }
+            });
+        }
+    }
+
+    private static Server iniciarServidor() {
+        try {
+            return Server.createTcpServer("-tcpPort", "0", "-tcpDaemon", "-ifNotExists").start();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PedidoIdentity novoPedidoIdentity(int itensPorPedido) {
+        PedidoIdentity pedido = new PedidoIdentity();
+        pedido.cliente = cliente;
+        pedido.restaurante = restaurante;
+        pedido.status = StatusPedido.CRIADO;
+        pedido.dataPedido = LocalDateTime.now();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itensPorPedido; i++) {
+            ItemPedidoIdentity item = new ItemPedidoIdentity();
+            item.pedido = pedido;
+            item.produto = produtos.get(i);
+            item.quantidade = 1;
+            item.precoUnitario = item.produto.getPreco();
+            pedido.itens.add(item);
+            total = total.add(item.precoUnitario);
+        }
+        pedido.total = total;
+        return pedido;
+    }
+
+    private Pedido novoPedido(int itensPorPedido) {
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.CRIADO)
+                .dataPedido(LocalDateTime.now())
+                .build();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itensPorPedido; i++) {
+            Produto produto = produtos.get(i);
+            pedido.adicionarItem(ItemPedido.builder()
+                    .produto(produto)
+                    .quantidade(1)
+                    .precoUnitario(produto.getPreco())
+                    .build());
+            total = total.add(produto.getPreco());
+        }
+        pedido.setTotal(total);
+        return pedido;
+    }
+
+    /**
+     * Pedido com o mapeamento anterior (IDENTITY), usado só como base de comparação.
+     * Por estar no classpath de teste, também é mapeado nos contextos dos outros testes (tabelas vazias).
+     */
+    @Entity
+    @Table(name = "benchmark_pedido_identity")
+    static class PedidoIdentity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne
+        @JoinColumn(name = "cliente_id")
+        Cliente cliente;
+
+        @ManyToOne
+        @JoinColumn(name = "restaurante_id")
+        Restaurante restaurante;
+
+        BigDecimal total;
+
+        @Enumerated(EnumType.STRING)
+        StatusPedido status;
+
+        LocalDateTime dataPedido;
+
+        @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL)
+        List<ItemPedidoIdentity> itens = new ArrayList<>();
+    }
+
+    @Entity
+    @Table(name = "benchmark_item_pedido_identity")
+    static class ItemPedidoIdentity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne
+        @JoinColumn(name = "pedido_id")
+        PedidoIdentity pedido;
+
+        @ManyToOne
+        @JoinColumn(name = "produto_id")
+        Produto produto;
+
+        Integer quantidade;
+
+        BigDecimal precoUnitario;
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.ImportacaoProdutoService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Importa um cardápio de 50 mil produtos em CSV e em JSON: a primeira carga só insere,
+ * a segunda atualiza todos os produtos pelo nome.
+ * Executar com: mvn test -Pbenchmark -Dtest=ProdutoImportacaoBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark-importacao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.deliverytech=INFO"
+})
+public class ProdutoImportacaoBenchmarkTest {
+
+    private static final int TOTAL_PRODUTOS = 50_000;
+
+    @Autowired
+    ImportacaoProdutoService importacaoProdutoService;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Test
+    void importarCardapioGrande() throws Exception {
+        StringBuilder relatorio = new StringBuilder("\n");
+        relatorio.append(String.format("%-6s | %-10s | %10s | %14s%n", "formato", "carga", "ms", "produtos/s"));
+
+        for (ImportacaoProdutoService.Formato formato : ImportacaoProdutoService.Formato.values()) {
+            Long restauranteId = restauranteRepository.save(Restaurante.builder()
+                    .nome("Importação " + formato).categoria("Variada").ativo(true).build()).getId();
+            byte[] insercao = gerar(formato, "10.00");
+            byte[] atualizacao = gerar(formato, "12.50");
+
+            ImportacaoProdutosResponse inseridos = medir(relatorio, formato, "inserção", restauranteId, insercao);
+            assertEquals(TOTAL_PRODUTOS, inseridos.getInseridos());
+            ImportacaoProdutosResponse atualizados = medir(relatorio, formato, "upsert", restauranteId, atualizacao);
+            assertEquals(TOTAL_PRODUTOS, atualizados.getAtualizados());
+        }
+        System.out.println(relatorio);
+    }
+
+    private ImportacaoProdutosResponse medir(StringBuilder relatorio, ImportacaoProdutoService.Formato formato, String carga,
+                                             Long restauranteId, byte[] conteudo) throws Exception {
+        long inicio = System.nanoTime();
+        ImportacaoProdutosResponse resultado = importacaoProdutoService.importar(restauranteId, new ByteArrayInputStream(conteudo), formato);
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0;
+        assertEquals(0, resultado.getTotalErros());
+        relatorio.append(String.format("%-6s | %-10s | %10.0f | %14.0f%n", formato, carga, ms, TOTAL_PRODUTOS / (ms / 1000)));
+        return resultado;
+    }
+
+    private byte[] gerar(ImportacaoProdutoService.Formato formato, String preco) {
+        StringBuilder conteudo = new StringBuilder();
+        if (formato == ImportacaoProdutoService.Formato.CSV) {
+            conteudo.append("nome,categoria,descricao,preco\n");
+            for (int i = 0; i < TOTAL_PRODUTOS; i++) {
+                conteudo.append("Produto ").append(i).append(",Categoria ").append(i % 30)
+                        .append(",\"Descrição do produto, número ").append(i).append("\",").append(preco).append('\n');
+            }
+        } else {
+            conteudo.append('[');
+            for (int i = 0; i < TOTAL_PRODUTOS; i++) {
+                if (i > 0) {
+                    conteudo.append(',');
+                }
+                conteudo.append("{\"nome\":\"Produto ").append(i).append("\",\"categoria\":\"Categoria ").append(i % 30)
+                        .append("\",\"descricao\":\"Descrição do produto ").append(i).append("\",\"preco\":").append(preco).append('}');
+            }
+            conteudo.append(']');
+        }
+        return conteudo.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
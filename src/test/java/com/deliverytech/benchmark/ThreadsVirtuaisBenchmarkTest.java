@@ -0,0 +1,146 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.DeliveryTechApiApplication;
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.model.*;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.security.JwtUtil;
+import com.deliverytech.service.PedidoService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga comparando o modo padrão (pool de threads de plataforma do Tomcat)
+ * com o perfil virtual-threads: vazão e p99 de GET /api/pedidos/{id}, que lê o pedido
+ * com os itens no banco a cada requisição.
+ * Executar com: mvn test -Pbenchmark -Dtest=ThreadsVirtuaisBenchmarkTest
+ */
+@Tag("benchmark")
+public class ThreadsVirtuaisBenchmarkTest {
+
+    private static final int CLIENTES_SIMULTANEOS = 200;
+    private static final int REQUISICOES_AQUECIMENTO = 2_000;
+    private static final int REQUISICOES_MEDIDAS = 10_000;
+
+    @Test
+    void compararThreadsDePlataformaComThreadsVirtuais() throws Exception {
+        Resultado plataforma = executar("plataforma", "default");
+        Resultado virtuais = executar("virtuais", "virtual-threads");
+
+        StringBuilder relatorio = new StringBuilder("\n");
+        relatorio.append(String.format("%-12s | %14s | %10s | %10s%n", "modo", "vazão (req/s)", "p50 (ms)", "p99 (ms)"));
+        for (Resultado r : List.of(plataforma, virtuais)) {
+            relatorio.append(String.format("%-12s | %14.0f | %10.2f | %10.2f%n", r.modo(), r.vazao(), r.p50(), r.p99()));
+        }
+        System.out.println(relatorio);
+    }
+
+    private Resultado executar(String modo, String perfil) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DeliveryTechApiApplication.class)
+                .profiles(perfil)
+                // Argumentos de linha de comando têm precedência sobre o application.properties
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-threads-" + modo + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN")) {
+
+            int porta = contexto.getEnvironment().getProperty("local.server.port", Integer.class);
+            Long pedidoId = criarPedido(contexto);
+            String token = gerarToken(contexto);
+            HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/pedidos/" + pedidoId))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                disparar(http, requisicao, REQUISICOES_AQUECIMENTO);
+                long inicio = System.nanoTime();
+                long[] latencias = disparar(http, requisicao, REQUISICOES_MEDIDAS);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+
+                Arrays.sort(latencias);
+                return new Resultado(modo, REQUISICOES_MEDIDAS / segundos,
+                        percentil(latencias, 0.50), percentil(latencias, 0.99));
+            }
+        }
+    }
+
+    /**
+     * Dispara o total de requisições a partir de CLIENTES_SIMULTANEOS clientes concorrentes
+     * e devolve a latência de cada uma em nanossegundos.
+     */
+    private long[] disparar(HttpClient http, HttpRequest requisicao, int total) throws Exception {
+        long[] latencias = new long[total];
+        AtomicInteger proxima = new AtomicInteger();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int c = 0; c < CLIENTES_SIMULTANEOS; c++) {
+                tarefas.add(clientes.submit(() -> {
+                    for (int i = proxima.getAndIncrement(); i < total; i = proxima.getAndIncrement()) {
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        latencias[i] = System.nanoTime() - inicio;
+                        assertEquals(200, resposta.statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        return latencias;
+    }
+
+    private Long criarPedido(ConfigurableApplicationContext contexto) {
+        Cliente cliente = contexto.getBean(ClienteRepository.class).save(Cliente.builder()
+                .nome("Cliente Carga").email("carga@teste.com").ativo(true).build());
+        Restaurante restaurante = contexto.getBean(RestauranteRepository.class).save(Restaurante.builder()
+                .nome("Restaurante Carga").categoria("Pizza").ativo(true).build());
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Produto produto = contexto.getBean(ProdutoRepository.class).save(Produto.builder()
+                    .nome("Produto " + i).preco(new BigDecimal("20.00")).disponivel(true).restaurante(restaurante).build());
+            itens.add(new ItemPedidoRequest(produto.getId(), 1));
+        }
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        return contexto.getBean(PedidoService.class)
+                .criar(new PedidoRequest(cliente.getId(), restaurante.getId(), endereco, itens)).getId();
+    }
+
+    private String gerarToken(ConfigurableApplicationContext contexto) {
+        Usuario usuario = Usuario.builder().id(1L).email("carga@teste.com").role(Role.CLIENTE).build();
+        return contexto.getBean(JwtUtil.class).generateToken(
+                User.withUsername(usuario.getEmail()).password("x").authorities("ROLE_CLIENTE").build(), usuario);
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        return ordenadas[(int) Math.ceil(p * ordenadas.length) - 1] / 1_000_000.0;
+    }
+
+    private record Resultado(String modo, double vazao, double p50, double p99) {
+    }
+}
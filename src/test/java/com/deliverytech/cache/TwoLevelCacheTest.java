@@ -0,0 +1,124 @@
+package com.deliverytech.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simula duas instâncias da API compartilhando o mesmo L2.
+ * O Redis é substituído por um ConcurrentMapCache (armazenamento) e por uma lista
+ * de gerenciadores em memória (pub/sub), que recebem todas as mensagens publicadas.
+ */
+public class TwoLevelCacheTest {
+
+    private final List<TwoLevelCacheManager> barramento = new CopyOnWriteArrayList<>();
+    private ConcurrentMapCache redisSimulado;
+    private TwoLevelCacheManager instanciaA;
+    private TwoLevelCacheManager instanciaB;
+
+    @BeforeEach
+    void criarInstancias() {
+        redisSimulado = new ConcurrentMapCache("clientes");
+        instanciaA = novaInstancia("A");
+        instanciaB = novaInstancia("B");
+    }
+
+    @Test
+    void deveLerDoL2QuandoOL1NaoTemAChave() {
+        cache(instanciaA).put(1L, "Ana");
+
+        Cache.ValueWrapper valor = cache(instanciaB).get(1L);
+
+        assertNotNull(valor);
+        assertEquals("Ana", valor.get());
+        // A leitura no L2 preenche o L1 da instância B
+        assertNotNull(local(instanciaB).get(1L));
+    }
+
+    @Test
+    void deveInvalidarCopiaLocalDasOutrasInstanciasAoEscrever() {
+        cache(instanciaA).put(1L, "Ana");
+        cache(instanciaB).get(1L);
+
+        cache(instanciaA).put(1L, "Ana Maria");
+
+        assertNull(local(instanciaB).get(1L));
+        assertEquals("Ana Maria", cache(instanciaB).get(1L).get());
+    }
+
+    @Test
+    void preenchimentoPelaVisaoDeLeituraNaoInvalidaAsOutrasInstancias() {
+        cache(instanciaA).put(1L, "Ana");
+        cache(instanciaB).get(1L);
+        redisSimulado.evict(1L);
+
+        ((TwoLevelCache) cache(instanciaA)).paraLeitura().put(1L, "Ana");
+
+        assertNotNull(local(instanciaB).get(1L));
+        assertEquals("Ana", redisSimulado.get(1L).get());
+    }
+
+    @Test
+    void deveRemoverDosDoisNiveisAoDespejar() {
+        cache(instanciaA).put(1L, "Ana");
+        cache(instanciaB).get(1L);
+
+        cache(instanciaB).evict(1L);
+
+        assertNull(local(instanciaA).get(1L));
+        assertNull(redisSimulado.get(1L));
+        assertNull(cache(instanciaA).get(1L));
+    }
+
+    @Test
+    void deveLimparCopiasLocaisDasOutrasInstanciasAoLimpar() {
+        cache(instanciaA).put(1L, "Ana");
+        cache(instanciaA).put(2L, "Bruno");
+        cache(instanciaB).get(1L);
+        cache(instanciaB).get(2L);
+
+        cache(instanciaA).clear();
+
+        assertNull(local(instanciaB).get(1L));
+        assertNull(local(instanciaB).get(2L));
+    }
+
+    @Test
+    void deveCarregarUmaUnicaVezEGravarNoL2() {
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        String primeiro = cache(instanciaA).get(1L, () -> "Ana-" + carregamentos.incrementAndGet());
+        String segundo = cache(instanciaB).get(1L, () -> "Ana-" + carregamentos.incrementAndGet());
+
+        assertEquals("Ana-1", primeiro);
+        assertEquals("Ana-1", segundo);
+        assertEquals(1, carregamentos.get());
+    }
+
+    private TwoLevelCacheManager novaInstancia(String origem) {
+        CaffeineCache local = new CaffeineCache("clientes", Caffeine.newBuilder().build());
+        TwoLevelCache cache = new TwoLevelCache("clientes", local, redisSimulado, origem,
+                mensagem -> barramento.forEach(instancia -> instancia.receberInvalidacao(mensagem)));
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(List.of(cache), origem);
+        manager.afterPropertiesSet();
+        barramento.add(manager);
+        return manager;
+    }
+
+    private Cache cache(TwoLevelCacheManager manager) {
+        return manager.getCache("clientes");
+    }
+
+    private Cache local(TwoLevelCacheManager manager) {
+        return ((TwoLevelCache) manager.getCache("clientes")).getLocal();
+    }
+}
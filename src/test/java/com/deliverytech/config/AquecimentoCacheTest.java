@@ -0,0 +1,104 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.CardapioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:aquecimento-cache-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+public class AquecimentoCacheTest {
+
+    @Autowired
+    AquecimentoCache aquecimentoCache;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    CardapioService cardapioService;
+
+    @Test
+    void deveCarregarRestaurantesCardapiosEClientesComPedidosRecentes() {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Cantina Aquecida").categoria("Italiana").ativo(true).build());
+        produtoRepository.save(Produto.builder()
+                .nome("Nhoque").categoria("Massas").preco(new BigDecimal("40.00")).disponivel(true).restaurante(restaurante).build());
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Frequente").email("frequente-" + System.nanoTime() + "@teste.com").ativo(true).build());
+        jdbcTemplate.update("insert into pedido (id, cliente_id, restaurante_id, status, data_pedido, total, versao) " +
+                "values (800001, ?, ?, 'ENTREGUE', current_timestamp, 40.00, 0)", cliente.getId(), restaurante.getId());
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        AquecimentoCache.Resultado resultado = aquecimentoCache.aquecer();
+
+        assertEquals("completo", resultado.resultado());
+        assertNotNull(cacheManager.getCache("restaurantes").get(restaurante.getId()));
+        assertNotNull(cacheManager.getCache("cardapios").get(restaurante.getId()));
+        assertNotNull(cacheManager.getCache("clientes").get(cliente.getId()));
+        assertNotNull(cacheManager.getCache("clientesPorEmail").get(cliente.getEmail()));
+        assertTrue(meterRegistry.get("deliverytech.cache.aquecimento").tag("resultado", "completo").timer().count() >= 1);
+    }
+
+    @Test
+    void semOrcamentoOAquecimentoTerminaIncompleto() {
+        restauranteRepository.save(Restaurante.builder().nome("Restaurante Sem Tempo").categoria("Lanches").ativo(true).build());
+        CacheProperties properties = new CacheProperties();
+        properties.getAquecimento().setOrcamento(Duration.ZERO);
+        AquecimentoCache semTempo = new AquecimentoCache(cacheManager, restauranteRepository, clienteRepository,
+                pedidoRepository, cardapioService, meterRegistry, properties);
+
+        assertEquals("incompleto", semTempo.aquecer().resultado());
+    }
+
+    @Test
+    void readinessFicaUpDepoisDoAquecimento() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        assertTrue(meterRegistry.find("deliverytech.cache.aquecimento").timers().stream().anyMatch(t -> t.count() >= 1));
+    }
+}
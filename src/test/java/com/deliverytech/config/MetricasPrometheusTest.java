@@ -0,0 +1,85 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.PedidoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Os testes do Spring Boot desligam a exportação de métricas; aqui ela precisa estar ligada
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricas-prometheus-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class MetricasPrometheusTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Test
+    void deveExporServicosRepositoriosCachesEEndpoints() throws Exception {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Cantina Medida").categoria("Italiana").ativo(true).build());
+        mockMvc.perform(get("/api/restaurantes/{id}", restaurante.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "deliverytech_servico_seconds_bucket{class=\"com.deliverytech.service.impl.RestauranteServiceImpl\"")))
+                .andExpect(content().string(containsString("repository=\"RestauranteRepository\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"restaurantes\"")))
+                .andExpect(content().string(containsString("uri=\"/api/restaurantes/{id}\",le=\"0.1\"")))
+                .andExpect(content().string(containsString("deliverytech_pedidos_transicoes_total{status=\"ENTREGUE\"")));
+    }
+
+    @Test
+    void deveContarPedidosPorStatusDepoisDoCommit() {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Lanchonete Contada").categoria("Lanches").ativo(true).build());
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Contado").email("contado-" + System.nanoTime() + "@teste.com").ativo(true).build());
+        jdbcTemplate.update("insert into pedido (id, cliente_id, restaurante_id, status, data_pedido, total, versao) " +
+                "values (700001, ?, ?, 'CRIADO', current_timestamp, 25.00, 0)", cliente.getId(), restaurante.getId());
+        double antes = transicoes(StatusPedido.CONFIRMADO);
+
+        pedidoService.atualizarStatus(700001L, StatusPedido.CONFIRMADO);
+
+        assertEquals(antes + 1, transicoes(StatusPedido.CONFIRMADO));
+    }
+
+    private double transicoes(StatusPedido status) {
+        return meterRegistry.get("deliverytech.pedidos.transicoes").tag("status", status.name()).counter().count();
+    }
+}
@@ -0,0 +1,126 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação sobre um banco de uma instalação anterior: tabelas com ids IDENTITY já preenchidas
+ * e sem as sequences, que o ddl-auto=update cria começando em 1.
+ * A checagem da chave natural de produtos é testada à parte, em um banco próprio.
+ */
+@SpringBootTest
+// O banco foi montado antes do contexto; não pode ser reaproveitado por outras classes de teste
+@DirtiesContext
+public class MigracaoEsquemaTest {
+
+    private static final String URL = "jdbc:h2:mem:migracao-esquema-test;DB_CLOSE_DELAY=-1";
+    private static final long MAIOR_PEDIDO = 120;
+    private static final long MAIOR_ITEM = 75;
+    private static final long MAIOR_PRODUTO = 200;
+
+    static {
+        prepararBancoExistente();
+    }
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Test
+    void novosPedidosNaoColidemComOsIdsExistentes() {
+        List<Pedido> pedidos = new ArrayList<>();
+        // Mais de um bloco da sequence
+        for (int i = 0; i < MigracaoEsquema.TAMANHO_BLOCO + 10; i++) {
+            Pedido pedido = Pedido.builder().status(StatusPedido.CRIADO).total(BigDecimal.TEN).build();
+            pedido.getItens().add(ItemPedido.builder().pedido(pedido).quantidade(1).precoUnitario(BigDecimal.TEN).build());
+            pedidos.add(pedido);
+        }
+
+        List<Pedido> salvos = pedidoRepository.saveAll(pedidos);
+
+        assertTrue(salvos.stream().allMatch(p -> p.getId() > MAIOR_PEDIDO), "ids de pedido reaproveitados");
+        assertTrue(salvos.stream().flatMap(p -> p.getItens().stream()).allMatch(i -> i.getId() > MAIOR_ITEM),
+                "ids de item reaproveitados");
+        assertEquals(3 + salvos.size(), pedidoRepository.count());
+    }
+
+    @Test
+    void novosProdutosNaoColidemComOsIdsExistentes() {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder().nome("Migração").ativo(true).build());
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < MigracaoEsquema.TAMANHO_BLOCO + 10; i++) {
+            produtos.add(Produto.builder().nome("Produto " + i).restaurante(restaurante).build());
+        }
+
+        List<Produto> salvos = produtoRepository.saveAll(produtos);
+
+        assertTrue(salvos.stream().allMatch(p -> p.getId() > MAIOR_PRODUTO), "ids de produto reaproveitados");
+    }
+
+    @Test
+    void naoSobeComProdutosRepetidosNoMesmoRestaurante() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:produtos-repetidos;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("create table produto (id bigint primary key, nome varchar(255), restaurante_id bigint)");
+        jdbc.execute("insert into produto values (1, 'Pizza', 1), (2, 'Pizza', 1), (3, 'Pizza', 2), (4, 'Suco', 1)");
+        MigracaoEsquema migracao = new MigracaoEsquema(jdbc);
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, migracao::garantirChaveProduto);
+        assertTrue(erro.getMessage().contains("restaurante 1, 'Pizza' (2 registros)"), erro.getMessage());
+        assertFalse(erro.getMessage().contains("restaurante 2"), erro.getMessage());
+
+        // Resolvidos os repetidos, a constraint é criada
+        jdbc.execute("update produto set nome = 'Pizza Grande' where id = 2");
+        migracao.garantirChaveProduto();
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbc.execute("insert into produto values (5, 'Suco', 1)"));
+    }
+
+    private static void prepararBancoExistente() {
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement sql = conexao.createStatement()) {
+            sql.execute("create table pedido (id bigint generated by default as identity primary key, total numeric(38,2))");
+            sql.execute("create table item_pedido (id bigint generated by default as identity primary key, pedido_id bigint)");
+            sql.execute("insert into pedido (id, total) values (1, 10), (2, 20), (" + MAIOR_PEDIDO + ", 30)");
+            sql.execute("insert into item_pedido (id, pedido_id) values (1, 1), (" + MAIOR_ITEM + ", " + MAIOR_PEDIDO + ")");
+            sql.execute("create table produto (id bigint generated by default as identity primary key, nome varchar(255))");
+            sql.execute("insert into produto (id, nome) values (1, 'Antigo 1'), (" + MAIOR_PRODUTO + ", 'Antigo 2')");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
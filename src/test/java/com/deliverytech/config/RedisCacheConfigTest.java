@@ -0,0 +1,305 @@
+package com.deliverytech.config;
+
+import com.deliverytech.cache.TwoLevelCache;
+import com.deliverytech.cache.TwoLevelCacheManager;
+import com.deliverytech.dto.response.ItemBuscaResponse;
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.dto.response.RestauranteProximoResponse;
+import com.deliverytech.dto.response.SugestaoResponse;
+import com.deliverytech.event.ProdutoSalvoEvent;
+import com.deliverytech.event.ReplicadorEventos;
+import com.deliverytech.event.RestauranteSalvoEvent;
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PainelPedidosService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProximidadeService;
+import com.deliverytech.service.SugestaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sobe a aplicação com deliverytech.cache.redis.habilitado=true contra um redis-server em processo.
+ * A aplicação é a instância A; a instância B é montada com o mesmo RedisCacheConfig (outra origem),
+ * com o próprio L1 e o próprio ouvinte de invalidação, compartilhando o Redis. Os eventos replicados
+ * que chegam à instância B são só guardados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:redis-cache-config-test;DB_CLOSE_DELAY=-1",
+        "deliverytech.cache.redis.habilitado=true"})
+@AutoConfigureMockMvc
+// O contexto fica ligado a este Redis; não pode ser reaproveitado por outras classes de teste
+@DirtiesContext
+public class RedisCacheConfigTest {
+
+    private static final int PORTA = portaLivre();
+    // Parado pelo gancho de desligamento da JVM, depois que o contexto já foi fechado
+    private static final RedisServer REDIS = iniciarRedis();
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", () -> PORTA);
+    }
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    CacheProperties cacheProperties;
+
+    @Autowired
+    RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    PainelPedidosService painelPedidosService;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    BuscaService buscaService;
+
+    @Autowired
+    ProximidadeService proximidadeService;
+
+    @Autowired
+    SugestaoService sugestaoService;
+
+    private TwoLevelCacheManager instanciaB;
+    private ReplicadorEventos replicadorB;
+    private final List<Object> recebidosB = new CopyOnWriteArrayList<>();
+    private RedisMessageListenerContainer ouvinteB;
+
+    @BeforeEach
+    void criarInstanciaB() throws Exception {
+        // O resolvedor de cache não é usado pela instância B (acesso direto aos caches)
+        CacheConfig.RedisCacheConfig config = new CacheConfig.RedisCacheConfig(null);
+        RedisTemplate<String, Object> template = config.cacheInvalidationTemplate(connectionFactory);
+        template.afterPropertiesSet();
+        instanciaB = config.cacheManager(cacheProperties, connectionFactory, template);
+        instanciaB.afterPropertiesSet();
+        replicadorB = config.replicadorEventos(template, cacheProperties, recebidosB::add);
+        ouvinteB = config.cacheInvalidationListener(connectionFactory, instanciaB, replicadorB, cacheProperties);
+        ouvinteB.afterPropertiesSet();
+        ouvinteB.start();
+    }
+
+    @AfterEach
+    void pararInstanciaB() throws Exception {
+        ouvinteB.destroy();
+    }
+
+    @Test
+    void deveCompartilharEntidadesSerializadasEInvalidarAOutraInstancia() {
+        Cliente salvo = clienteService.cadastrar(novoCliente());
+
+        // A entidade gravada pela instância A volta do Redis (serialização Java) na instância B
+        Cliente emB = (Cliente) clientesB().get(salvo.getId()).get();
+        assertEquals(salvo.getEmail(), emB.getEmail());
+        assertNotNull(localB().get(salvo.getId()));
+
+        clienteService.atualizar(salvo.getId(), Cliente.builder().nome("Nome Atualizado").build());
+
+        aguardar(() -> localB().get(salvo.getId()) == null);
+        assertEquals("Nome Atualizado", ((Cliente) clientesB().get(salvo.getId()).get()).getNome());
+    }
+
+    @Test
+    void faltaNoCacheableNaoInvalidaAsOutrasInstancias() {
+        Cliente lido = clienteService.cadastrar(novoCliente());
+        Cliente marcador = clienteService.cadastrar(novoCliente());
+        clientesB().get(lido.getId());
+        clientesB().get(marcador.getId());
+        // Simula a expiração no L2 e no L1 da instância A, sem mensagem de invalidação
+        TwoLevelCache clientesA = (TwoLevelCache) cacheManager.getCache("clientes");
+        clientesA.getRemoto().evict(lido.getId());
+        clientesA.getLocal().evict(lido.getId());
+
+        // Falta em A: o @Cacheable preenche os dois níveis com put
+        clienteService.buscarPorId(lido.getId());
+
+        // Uma escrita publicada depois serve de marco: as mensagens chegam em ordem
+        clientesA.evict(marcador.getId());
+        aguardar(() -> localB().get(marcador.getId()) == null);
+        assertNotNull(localB().get(lido.getId()));
+        assertNotNull(clientesA.getRemoto().get(lido.getId()));
+    }
+
+    @Test
+    void transicoesDePedidoChegamAoPainelDaOutraInstancia() {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder().nome("Replicado").ativo(true).build());
+        double criadosAntes = transicoes(StatusPedido.CRIADO);
+
+        // Pedido criado na instância B: entra no painel de A, mas é contado só em B
+        StatusPedidoAlteradoEvent deB = new StatusPedidoAlteradoEvent(-1L, restaurante.getId(), StatusPedido.CRIADO, LocalDateTime.now());
+        replicadorB.aoAlterarStatus(deB);
+        aguardar(() -> idsNoPainel(restaurante.getId(), StatusPedido.CRIADO).contains(-1L));
+
+        // Pedido criado em A chega a B; o evento de B não volta para o canal
+        Pedido pedido = pedidoService.criar(Pedido.builder().restaurante(restaurante).build());
+        aguardar(() -> recebidosB.stream().anyMatch(e -> e instanceof StatusPedidoAlteradoEvent evento
+                && evento.pedidoId().equals(pedido.getId()) && evento.restauranteId().equals(restaurante.getId())));
+        assertFalse(recebidosB.contains(deB));
+        assertEquals(criadosAntes + 1, transicoes(StatusPedido.CRIADO));
+    }
+
+    @Test
+    void gravacoesDaOutraInstanciaChegamAoIndiceDeBusca() {
+        replicadorB.aoSalvarRestaurante(new RestauranteSalvoEvent(-2L, "Tasca Replicada", "Portuguesa", true,
+                BigDecimal.ONE, 30, null, null));
+        replicadorB.aoSalvarProduto(new ProdutoSalvoEvent(-2L, -2L, "Quibebe", "Abóbora", "Portuguesa", BigDecimal.TEN, true));
+        aguardar(() -> idsNaBusca("quibebe", false).contains(-2L) && idsNaBusca("tasca", true).contains(-2L));
+
+        replicadorB.aoSalvarProduto(new ProdutoSalvoEvent(-2L, -2L, "Quibebe", "Abóbora", "Portuguesa", BigDecimal.TEN, false));
+        aguardar(() -> idsNaBusca("quibebe", false).isEmpty());
+    }
+
+    @Test
+    void restauranteGravadoNaOutraInstanciaEntraNaBuscaPorProximidade() {
+        double lat = -3.73, lon = -38.52;
+        replicadorB.aoSalvarRestaurante(new RestauranteSalvoEvent(-3L, "Barraca Replicada", "Frutos do mar", true,
+                BigDecimal.ONE, 30, lat, lon));
+        aguardar(() -> idsProximos(lat, lon).contains(-3L));
+
+        // Desativado em B: sai do índice de A
+        replicadorB.aoSalvarRestaurante(new RestauranteSalvoEvent(-3L, "Barraca Replicada", "Frutos do mar", false,
+                BigDecimal.ONE, 30, lat, lon));
+        aguardar(() -> idsProximos(lat, lon).isEmpty());
+    }
+
+    @Test
+    void produtoGravadoNaOutraInstanciaEntraNasSugestoes() {
+        replicadorB.aoSalvarProduto(new ProdutoSalvoEvent(-4L, -4L, "Cajuína Replicada", null, "Bebidas", BigDecimal.ONE, true));
+        aguardar(() -> idsSugeridos("cajuina").contains(-4L));
+
+        replicadorB.aoSalvarProduto(new ProdutoSalvoEvent(-4L, -4L, "Cajuína Replicada", null, "Bebidas", BigDecimal.ONE, false));
+        aguardar(() -> idsSugeridos("cajuina").isEmpty());
+    }
+
+    @Test
+    void healthIncluiORedis() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.redis.status").value("UP"));
+    }
+
+    private List<Long> idsNoPainel(Long restauranteId, StatusPedido status) {
+        return painelPedidosService.pedidosAtivos(restauranteId).get(status).stream().map(PedidoAtivoResponse::getId).toList();
+    }
+
+    private List<Long> idsNaBusca(String texto, boolean restaurantes) {
+        var resposta = buscaService.buscar(texto, null, 10);
+        return (restaurantes ? resposta.getRestaurantes() : resposta.getProdutos()).getItens().stream()
+                .map(ItemBuscaResponse::getId).toList();
+    }
+
+    private List<Long> idsProximos(double latitude, double longitude) {
+        return proximidadeService.restaurantesProximos(latitude, longitude, 5, 10, ProximidadeService.Ordem.DISTANCIA).stream()
+                .map(RestauranteProximoResponse::getId).toList();
+    }
+
+    private List<Long> idsSugeridos(String prefixo) {
+        return sugestaoService.sugerir(prefixo, 10).stream()
+                .filter(s -> s.getTipo() == SugestaoResponse.Tipo.PRODUTO)
+                .map(SugestaoResponse::getId).toList();
+    }
+
+    private double transicoes(StatusPedido status) {
+        return meterRegistry.get("deliverytech.pedidos.transicoes").tag("status", status.name()).counter().count();
+    }
+
+    private Cache clientesB() {
+        return instanciaB.getCache("clientes");
+    }
+
+    private Cache localB() {
+        return ((TwoLevelCache) clientesB()).getLocal();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Mensagem do canal não chegou em 5 s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private Cliente novoCliente() {
+        return Cliente.builder()
+                .nome("Cliente Redis")
+                .email("redis-" + System.nanoTime() + "@teste.com")
+                .ativo(true)
+                .build();
+    }
+
+    private static int portaLivre() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RedisServer iniciarRedis() {
+        try {
+            RedisServer servidor = RedisServer.newRedisServer().port(PORTA).bind("127.0.0.1").onShutdownForceStop(true).build();
+            servidor.start();
+            return servidor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.service.ClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação com o Redis como L2 e derruba o Redis: as operações com cache continuam
+ * funcionando só com o L1 e o banco, sem erro e sem esperar o timeout do Redis a cada chamada.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:redis-indisponivel-test;DB_CLOSE_DELAY=-1",
+        "deliverytech.cache.redis.habilitado=true"})
+// O contexto fica ligado a este Redis, que é derrubado pelo teste
+@DirtiesContext
+public class RedisIndisponivelTest {
+
+    private static final int PORTA = portaLivre();
+    private static final RedisServer REDIS = iniciarRedis();
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", () -> PORTA);
+    }
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    void semRedisAsOperacoesComCacheSeguemPeloL1EPeloBanco() throws Exception {
+        Cliente antes = clienteService.cadastrar(novoCliente());
+
+        REDIS.stop();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(15), () -> {
+            Cliente salvo = clienteService.cadastrar(novoCliente());
+            cacheManager.getCache("clientes").clear();
+
+            // Falta nos dois níveis: a leitura cai no banco
+            assertEquals(salvo.getEmail(), clienteService.buscarPorId(salvo.getId()).orElseThrow().getEmail());
+            assertEquals(antes.getEmail(), clienteService.buscarPorEmail(antes.getEmail()).orElseThrow().getEmail());
+
+            clienteService.atualizar(salvo.getId(), Cliente.builder().nome("Sem Redis").build());
+            assertEquals("Sem Redis", clienteService.buscarPorId(salvo.getId()).orElseThrow().getNome());
+            assertEquals("Sem Redis", cacheManager.getCache("clientes").get(salvo.getId(), Cliente.class).getNome());
+        });
+    }
+
+    private Cliente novoCliente() {
+        return Cliente.builder()
+                .nome("Cliente Sem Redis")
+                .email("sem-redis-" + System.nanoTime() + "@teste.com")
+                .ativo(true)
+                .build();
+    }
+
+    private static int portaLivre() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RedisServer iniciarRedis() {
+        try {
+            RedisServer servidor = RedisServer.newRedisServer().port(PORTA).bind("127.0.0.1").onShutdownForceStop(true).build();
+            servidor.start();
+            return servidor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
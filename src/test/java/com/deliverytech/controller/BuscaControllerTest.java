@@ -0,0 +1,192 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:busca-controller-test;DB_CLOSE_DELAY=-1",
+        "deliverytech.sugestoes.intervalo-popularidade=200ms"
+})
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class BuscaControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Restaurante restaurante;
+
+    // Cada teste usa uma palavra própria para não encontrar os produtos dos outros testes
+    @BeforeEach
+    void prepararDados() {
+        restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina São Jorge").categoria("Italiana").ativo(true).build());
+    }
+
+    @Test
+    void deveBuscarSemAcentosPorPrefixoEOrdenarPelaRelevancia() throws Exception {
+        importar("""
+                [
+                  {"nome": "Pizza Toscana", "categoria": "Pizzas", "descricao": "Calabresa, cebola e azeitonas", "preco": 50.00},
+                  {"nome": "Pizza Calabresa", "categoria": "Pizzas", "descricao": "Calabresa fatiada e cebola", "preco": 45.00},
+                  {"nome": "Calabresa acebolada", "categoria": "Porções", "descricao": "Porção de linguiça", "preco": 30.00}
+                ]
+                """);
+
+        mockMvc.perform(get("/api/busca").param("q", "PIZZA calab"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtos.total").value(2))
+                .andExpect(jsonPath("$.produtos.itens[0].nome").value("Pizza Calabresa"))
+                .andExpect(jsonPath("$.produtos.itens[0].restauranteId").value(restaurante.getId()))
+                .andExpect(jsonPath("$.produtos.itens[1].nome").value("Pizza Toscana"));
+
+        mockMvc.perform(get("/api/busca").param("q", "porcoes"))
+                .andExpect(jsonPath("$.produtos.total").value(1))
+                .andExpect(jsonPath("$.produtos.itens[0].nome").value("Calabresa acebolada"));
+
+        Restaurante trattoria = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Trattoria São Benedito").categoria("Italiana").ativo(true).build());
+        mockMvc.perform(get("/api/busca").param("q", "sao bened"))
+                .andExpect(jsonPath("$.restaurantes.total").value(1))
+                .andExpect(jsonPath("$.restaurantes.itens[0].id").value(trattoria.getId()));
+    }
+
+    @Test
+    void deveContarCategoriasEFiltrarPelaCategoria() throws Exception {
+        importar("""
+                [
+                  {"nome": "Risoto de funghi", "categoria": "Risotos", "descricao": "Arroz arbóreo e funghi", "preco": 60.00},
+                  {"nome": "Talharim ao funghi", "categoria": "Massas", "descricao": "Molho cremoso de funghi", "preco": 55.00},
+                  {"nome": "Nhoque ao funghi", "categoria": "Massas", "descricao": "Nhoque de batata", "preco": 52.00}
+                ]
+                """);
+
+        mockMvc.perform(get("/api/busca").param("q", "funghi").param("categoria", "massas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtos.total").value(2))
+                .andExpect(jsonPath("$.produtos.itens.length()").value(2))
+                .andExpect(jsonPath("$.produtos.facetas.Massas").value(2))
+                .andExpect(jsonPath("$.produtos.facetas.Risotos").value(1));
+    }
+
+    @Test
+    void produtoIndisponivelSaiDaBusca() throws Exception {
+        importar("""
+                [{"nome": "Cannoli siciliano", "categoria": "Sobremesas", "descricao": "Massa crocante com ricota", "preco": 18.00}]
+                """);
+        String resposta = mockMvc.perform(get("/api/busca").param("q", "cannoli"))
+                .andExpect(jsonPath("$.produtos.total").value(1))
+                .andReturn().getResponse().getContentAsString();
+        long produtoId = com.jayway.jsonpath.JsonPath.parse(resposta).read("$.produtos.itens[0].id", Long.class);
+
+        mockMvc.perform(patch("/api/produtos/{id}/disponibilidade", produtoId).param("disponivel", "false"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/busca").param("q", "cannoli"))
+                .andExpect(jsonPath("$.produtos.total").value(0));
+    }
+
+    @Test
+    void deveSugerirPeloInicioDeQualquerPalavraSemAcentos() throws Exception {
+        importar("""
+                [
+                  {"nome": "Pão de queijo mineiro", "categoria": "Quitutes", "descricao": "Porção com 10", "preco": 15.00},
+                  {"nome": "Pãozinho de mel", "categoria": "Quitutes", "descricao": "Com cobertura", "preco": 9.00},
+                  {"nome": "Bolo de fubá", "categoria": "Quitutes", "descricao": "Fatia", "preco": 8.00}
+                ]
+                """);
+
+        mockMvc.perform(get("/api/busca/sugestoes").param("q", "PAOZ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].texto").value("Pãozinho de mel"))
+                .andExpect(jsonPath("$[0].tipo").value("PRODUTO"))
+                .andExpect(jsonPath("$[0].restauranteId").value(restaurante.getId()));
+
+        mockMvc.perform(get("/api/busca/sugestoes").param("q", "  queijo   mine"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].texto").value("Pão de queijo mineiro"));
+
+        mockMvc.perform(get("/api/busca/sugestoes").param("q", "quitu"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].tipo").value("CATEGORIA"))
+                .andExpect(jsonPath("$[0].texto").value("Quitutes"));
+
+        mockMvc.perform(get("/api/busca/sugestoes").param("q", "fuba").param("limite", "11"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void sugestoesMaisVendidasVemPrimeiro() throws Exception {
+        importar("""
+                [
+                  {"nome": "Strudel de maçã", "categoria": "Sobremesas", "descricao": "Com sorvete", "preco": 22.00},
+                  {"nome": "Stroganoff de frango", "categoria": "Pratos", "descricao": "Com arroz e batata palha", "preco": 42.00}
+                ]
+                """);
+        sugestoes("str")
+                .andExpect(jsonPath("$[0].texto").value("Strudel de maçã"))
+                .andExpect(jsonPath("$[1].texto").value("Stroganoff de frango"));
+
+        Long stroganoff = jdbcTemplate.queryForObject(
+                "select id from produto where nome = 'Stroganoff de frango' and restaurante_id = ?", Long.class, restaurante.getId());
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Sugestão").email("sugestao-" + System.nanoTime() + "@teste.com").ativo(true).build());
+        jdbcTemplate.update("insert into pedido (id, cliente_id, restaurante_id, status, data_pedido, total, versao) " +
+                "values (900001, ?, ?, 'ENTREGUE', current_timestamp, 84.00, 0)", cliente.getId(), restaurante.getId());
+        jdbcTemplate.update("insert into item_pedido (id, pedido_id, produto_id, quantidade, preco_unitario) " +
+                "values (900001, 900001, ?, 2, 42.00)", stroganoff);
+
+        // A popularidade é recalculada em segundo plano (a cada 200 ms neste teste)
+        for (int tentativa = 0; tentativa < 50; tentativa++) {
+            String resposta = sugestoes("str").andReturn().getResponse().getContentAsString();
+            if (resposta.contains("\"popularidade\":2")) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        sugestoes("str")
+                .andExpect(jsonPath("$[0].texto").value("Stroganoff de frango"))
+                .andExpect(jsonPath("$[0].popularidade").value(2))
+                .andExpect(jsonPath("$[1].texto").value("Strudel de maçã"));
+    }
+
+    private ResultActions sugestoes(String prefixo) throws Exception {
+        return mockMvc.perform(get("/api/busca/sugestoes").param("q", prefixo)).andExpect(status().isOk());
+    }
+
+    private void importar(String json) throws Exception {
+        mockMvc.perform(post("/api/produtos/restaurante/{id}/importacao", restaurante.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalErros").value(0));
+    }
+}
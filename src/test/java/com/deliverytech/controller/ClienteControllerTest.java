@@ -1,14 +1,27 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.dto.response.CursorResponse;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.repository.ClienteRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -19,6 +32,9 @@ public class ClienteControllerTest {
     @Autowired
     MockMvc mockMvc;
 
+    @Autowired
+    ClienteRepository clienteRepository;
+
     @Test
     void deveCriarClienteComSucesso() throws Exception {
         String json = "{\"nome\":\"Alexandre\",\"email\":\"alexandre.valido@teste.com\"}";
@@ -63,4 +79,94 @@ public class ClienteControllerTest {
                 .content(json))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void deveResponder304EnquantoOClienteNaoMudar() throws Exception {
+        // Cria o cliente e usa o ETag devolvido como versão conhecida pelo consumidor da API.
+        String email = "etag." + System.nanoTime() + "@teste.com";
+        String location = mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Cliente ETag\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String etag = mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Depois de uma atualização a versão muda e o cliente volta a receber o corpo completo.
+        mockMvc.perform(put(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Cliente ETag Alterado\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk());
+
+        String novoEtag = mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novoEtag);
+    }
+
+    @Test
+    void devePercorrerClientesAtivosPorCursorAteAUltimaPagina() throws Exception {
+        // Três clientes novos (os maiores IDs da base) e um inativo, que não deve aparecer
+        List<Cliente> clientes = clienteRepository.saveAll(List.of(
+                novoCliente("Cursor A", true), novoCliente("Cursor Inativo", false),
+                novoCliente("Cursor B", true), novoCliente("Cursor C", true)));
+        String inicio = CursorResponse.codificar(clientes.get(0).getId() - 1);
+
+        String primeiraPagina = mockMvc.perform(get("/api/clientes/cursor").param("after", inicio).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(2)))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Cursor A"))
+                .andExpect(jsonPath("$.conteudo[1].nome").value("Cursor B"))
+                .andExpect(jsonPath("$.temMais").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String proximo = JsonPath.read(primeiraPagina, "$.proximoCursor");
+
+        mockMvc.perform(get("/api/clientes/cursor").param("after", proximo).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Cursor C"))
+                .andExpect(jsonPath("$.temMais").value(false))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+    }
+
+    @Test
+    void deveLimitarOTamanhoMinimoDaPaginaPorCursor() throws Exception {
+        List<Cliente> clientes = clienteRepository.saveAll(List.of(novoCliente("Tamanho A", true), novoCliente("Tamanho B", true)));
+
+        mockMvc.perform(get("/api/clientes/cursor")
+                        .param("after", CursorResponse.codificar(clientes.get(0).getId() - 1))
+                        .param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.temMais").value(true));
+    }
+
+    @Test
+    void deveRecusarCursorMalformado() throws Exception {
+        mockMvc.perform(get("/api/clientes/cursor").param("after", "nao-e-um-cursor!"))
+                .andExpect(status().isUnprocessableEntity());
+        // Base64 válido, mas sem o prefixo "id:"
+        mockMvc.perform(get("/api/clientes/cursor").param("after", "NDI"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void deveRecusarOrdenacaoPorCampoInexistente() throws Exception {
+        mockMvc.perform(get("/api/clientes").param("sort", "foo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    private Cliente novoCliente(String nome, boolean ativo) {
+        return Cliente.builder()
+                .nome(nome)
+                .email("cursor-" + System.nanoTime() + "@teste.com")
+                .ativo(ativo)
+                .build();
+    }
 }
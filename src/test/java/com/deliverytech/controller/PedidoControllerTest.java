@@ -0,0 +1,382 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pedido-controller-test;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_CLIENTE")
+public class PedidoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto pizza;
+    private Produto refrigerante;
+
+    @BeforeEach
+    void prepararDados() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Pedido").email("pedido-" + System.nanoTime() + "@teste.com").ativo(true).build());
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Pizzaria").categoria("Pizza").ativo(true).build());
+        pizza = produtoRepository.save(Produto.builder()
+                .nome("Pizza Calabresa").preco(new BigDecimal("45.00")).disponivel(true).restaurante(restaurante).build());
+        refrigerante = produtoRepository.save(Produto.builder()
+                .nome("Refrigerante").preco(new BigDecimal("8.50")).disponivel(true).restaurante(restaurante).build());
+    }
+
+    @Test
+    void deveCriarPedidoComItensLigadosAoPedido() throws Exception {
+        String json = pedidoJson(restaurante.getId(), pizza.getId(), 2, refrigerante.getId(), 3);
+
+        String resposta = mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total").value(115.5))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode pedido = objectMapper.readTree(resposta);
+        long pedidoId = pedido.get("id").asLong();
+
+        // Os itens precisam ter sido gravados com o pedido_id preenchido
+        Integer itensGravados = jdbcTemplate.queryForObject(
+                "select count(*) from item_pedido where pedido_id = ?", Integer.class, pedidoId);
+        assertEquals(2, itensGravados);
+
+        mockMvc.perform(get("/api/pedidos/{id}", pedidoId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clienteId").value(cliente.getId()))
+                .andExpect(jsonPath("$.restauranteId").value(restaurante.getId()))
+                .andExpect(jsonPath("$.itens.length()").value(2));
+    }
+
+    @Test
+    void naoDeveCriarPedidoComProdutoDeOutroRestaurante() throws Exception {
+        Restaurante outro = restauranteRepository.save(Restaurante.builder()
+                .nome("Hamburgueria").categoria("Lanches").ativo(true).build());
+
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(pedidoJson(outro.getId(), pizza.getId(), 1, refrigerante.getId(), 1)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void naoDeveCriarPedidoComProdutoInexistente() throws Exception {
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(pedidoJson(restaurante.getId(), pizza.getId(), 1, -1L, 1)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveListarHistoricoDoClientePaginadoSemItens() throws Exception {
+        long primeiro = criarPedido();
+        long segundo = criarPedido();
+        // Mesma data nos dois pedidos: a ordem da página depende só do desempate pelo ID
+        jdbcTemplate.update("update pedido set data_pedido = timestamp '2026-01-10 12:00:00' where id in (?, ?)", primeiro, segundo);
+
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(segundo))
+                .andExpect(jsonPath("$.content[0].restauranteNome").value("Pizzaria"))
+                .andExpect(jsonPath("$.content[0].itens").doesNotExist());
+
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("size", "1").param("page", "1"))
+                .andExpect(jsonPath("$.content[0].id").value(primeiro));
+
+        // Ordenação enviada pelo cliente: o ID desempata na direção do primeiro critério
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("size", "1").param("sort", "dataPedido,asc"))
+                .andExpect(jsonPath("$.content[0].id").value(primeiro));
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("size", "1").param("page", "1").param("sort", "dataPedido,asc"))
+                .andExpect(jsonPath("$.content[0].id").value(segundo));
+    }
+
+    @Test
+    void deveRecusarOrdenacaoPorCampoInexistente() throws Exception {
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("sort", "foo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        // Campo que existe no pedido, mas não no resumo do histórico
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("sort", "cliente.email,desc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/pedidos/cliente/{id}", cliente.getId()).param("sort", "total,desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveAceitarPedidoAssincronoEGravarEmSegundoPlano() throws Exception {
+        String resposta = mockMvc.perform(post("/api/pedidos/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(pedidoJson(restaurante.getId(), pizza.getId(), 1, refrigerante.getId(), 2)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.situacao").value("PENDENTE"))
+                .andReturn().getResponse().getContentAsString();
+        String protocolo = objectMapper.readTree(resposta).get("protocolo").asText();
+
+        JsonNode situacao = aguardarProcessamento(protocolo);
+        assertEquals("CRIADO", situacao.get("situacao").asText());
+        Integer itensGravados = jdbcTemplate.queryForObject(
+                "select count(*) from item_pedido where pedido_id = ?", Integer.class, situacao.get("pedidoId").asLong());
+        assertEquals(2, itensGravados);
+    }
+
+    @Test
+    void deveRejeitarPedidoAssincronoInvalidoSemAfetarOsDemais() throws Exception {
+        Restaurante outro = restauranteRepository.save(Restaurante.builder()
+                .nome("Hamburgueria").categoria("Lanches").ativo(true).build());
+
+        String resposta = mockMvc.perform(post("/api/pedidos/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(pedidoJson(outro.getId(), pizza.getId(), 1, refrigerante.getId(), 1)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode situacao = aguardarProcessamento(objectMapper.readTree(resposta).get("protocolo").asText());
+        assertEquals("REJEITADO", situacao.get("situacao").asText());
+    }
+
+    private JsonNode aguardarProcessamento(String protocolo) throws Exception {
+        for (int tentativa = 0; tentativa < 50; tentativa++) {
+            String corpo = mockMvc.perform(get("/api/pedidos/async/{protocolo}", protocolo))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode situacao = objectMapper.readTree(corpo);
+            if (!"PENDENTE".equals(situacao.get("situacao").asText())) {
+                return situacao;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Pedido " + protocolo + " não foi processado a tempo");
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_RESTAURANTE")
+    void deveSeguirOCicloDoPedidoERecusarTransicaoForaDeOrdem() throws Exception {
+        long pedidoId = criarPedido();
+
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isNoContent());
+        // Pular o preparo não é permitido, nem repetir a mesma transição
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "ENVIADO"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isConflict());
+
+        assertEquals("CONFIRMADO", jdbcTemplate.queryForObject(
+                "select status from pedido where id = ?", String.class, pedidoId));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select versao from pedido where id = ?", Long.class, pedidoId));
+        assertTrue(jdbcTemplate.queryForObject("select atualizado_em > data_pedido from pedido where id = ?",
+                Boolean.class, pedidoId));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_RESTAURANTE")
+    void naoDeveCancelarPedidoEmPreparo() throws Exception {
+        long pedidoId = criarPedido();
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"));
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "EM_PREPARACAO"));
+
+        mockMvc.perform(patch("/api/pedidos/{id}/cancelamento", pedidoId))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/pedidos/{id}/cancelamento", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_RESTAURANTE")
+    void deveEnviarMudancaDeStatusParaQuemAcompanhaOPedido() throws Exception {
+        long pedidoId = criarPedido();
+        MvcResult stream = mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId).with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isNoContent());
+
+        String recebido = "";
+        for (int tentativa = 0; tentativa < 50 && !recebido.contains("CONFIRMADO"); tentativa++) {
+            Thread.sleep(100);
+            recebido = stream.getResponse().getContentAsString();
+        }
+        assertTrue(recebido.contains("event:status"), recebido);
+        assertTrue(recebido.contains("\"pedidoId\":" + pedidoId + ",\"restauranteId\":" + restaurante.getId()
+                + ",\"status\":\"CONFIRMADO\""), recebido);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_RESTAURANTE")
+    void mudancaDeStatusChegaAoRestauranteSoComOUpdateNoBanco() throws Exception {
+        long pedidoId = criarPedido();
+        MvcResult stream = mockMvc.perform(get("/api/restaurantes/{id}/pedidos/eventos", restaurante.getId())
+                        .with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isNoContent());
+
+        // O restaurante do evento vem do painel em memória, não de outra consulta
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        String recebido = "";
+        for (int tentativa = 0; tentativa < 50 && !recebido.contains("CONFIRMADO"); tentativa++) {
+            Thread.sleep(100);
+            recebido = stream.getResponse().getContentAsString();
+        }
+        assertTrue(recebido.contains("\"pedidoId\":" + pedidoId + ",\"restauranteId\":" + restaurante.getId()
+                + ",\"status\":\"CONFIRMADO\""), recebido);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void naoDeveAbrirStreamParaPedidoOuRestauranteInexistente() throws Exception {
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", -1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/eventos", -1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void soODonoAcompanhaOPedidoOuORestaurante() throws Exception {
+        long pedidoId = criarPedido();
+
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId)
+                        .with(user(cliente.getEmail()).authorities(new SimpleGrantedAuthority("ROLE_CLIENTE"))))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId)
+                        .with(user("outro-cliente@teste.com").authorities(new SimpleGrantedAuthority("ROLE_CLIENTE"))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId)
+                        .with(user("entregador@teste.com").authorities(new SimpleGrantedAuthority("ROLE_ENTREGADOR"))))
+                .andExpect(status().isForbidden());
+
+        // Outro restaurante não vê o pedido, o stream nem o painel deste
+        Long concorrente = restaurante.getId() + 1000;
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId).with(donoDoRestaurante(concorrente)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/eventos", restaurante.getId()).with(donoDoRestaurante(concorrente)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/ativos", restaurante.getId()).with(donoDoRestaurante(concorrente)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/ativos", restaurante.getId())
+                        .with(user("sem-vinculo@teste.com").authorities(new SimpleGrantedAuthority("ROLE_RESTAURANTE"))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/eventos", restaurante.getId()).with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_RESTAURANTE")
+    void deveManterOPainelDePedidosAtivosDoRestaurante() throws Exception {
+        long pedidoId = criarPedido();
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/ativos", restaurante.getId()).with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.CRIADO[?(@.id == %d)]", pedidoId).exists())
+                .andExpect(jsonPath("$.ENTREGUE").doesNotExist());
+
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"));
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/ativos", restaurante.getId()).with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(jsonPath("$.CRIADO[?(@.id == %d)]", pedidoId).doesNotExist())
+                .andExpect(jsonPath("$.CONFIRMADO[?(@.id == %d)]", pedidoId).exists());
+
+        mockMvc.perform(patch("/api/pedidos/{id}/cancelamento", pedidoId));
+        mockMvc.perform(get("/api/restaurantes/{id}/pedidos/ativos", restaurante.getId()).with(donoDoRestaurante(restaurante.getId())))
+                .andExpect(jsonPath("$.CONFIRMADO[?(@.id == %d)]", pedidoId).doesNotExist());
+    }
+
+    private long criarPedido() throws Exception {
+        String resposta = mockMvc.perform(post("/api/pedidos")
+                .with(user("cliente").authorities(new SimpleGrantedAuthority("ROLE_CLIENTE")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(pedidoJson(restaurante.getId(), pizza.getId(), 1, refrigerante.getId(), 1)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+
+    private RequestPostProcessor donoDoRestaurante(Long restauranteId) {
+        return user(new UsuarioAutenticado("restaurante-" + restauranteId + "@teste.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_RESTAURANTE")), restauranteId));
+    }
+
+    private String pedidoJson(Long restauranteId, Long produto1, int quantidade1, Long produto2, int quantidade2) {
+        return """
+                {
+                  "clienteId": %d,
+                  "restauranteId": %d,
+                  "enderecoEntrega": {"rua": "Rua A", "numero": "10", "bairro": "Centro", "cidade": "Recife", "estado": "PE", "cep": "50000-000"},
+                  "itens": [
+                    {"produtoId": %d, "quantidade": %d},
+                    {"produtoId": %d, "quantidade": %d}
+                  ]
+                }
+                """.formatted(cliente.getId(), restauranteId, produto1, quantidade1, produto2, quantidade2);
+    }
+}
@@ -0,0 +1,169 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:produto-controller-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class ProdutoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void prepararDados() {
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").ativo(true).build());
+        produto = produtoRepository.save(Produto.builder()
+                .nome("Lasanha").categoria("Massas").descricao("Lasanha à bolonhesa")
+                .preco(new BigDecimal("39.90")).disponivel(true).restaurante(restaurante).build());
+    }
+
+    @Test
+    void deveResponder304QuandoOCardapioNaoMudou() throws Exception {
+        String etag = mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Lasanha"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void deveGerarNovoCardapioAposAlterarDisponibilidade() throws Exception {
+        String etagAntes = mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/produtos/{id}/disponibilidade", produto.getId()).param("disponivel", "false"))
+                .andExpect(status().isNoContent());
+
+        String etagDepois = mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etagAntes))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].disponivel").value(false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etagAntes, etagDepois);
+    }
+
+    @Test
+    void deveResponder404ParaRestauranteInexistente() throws Exception {
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveImportarJsonAtualizandoPeloNomeERelatandoLinhasInvalidas() throws Exception {
+        String json = """
+                [
+                  {"nome": "Lasanha", "categoria": "Massas", "descricao": "Lasanha de quatro queijos", "preco": 42.50},
+                  {"nome": "Nhoque", "categoria": "Massas", "descricao": "Nhoque ao sugo", "preco": 35.00},
+                  {"nome": "Sem preço", "categoria": "Massas", "descricao": "Produto inválido"},
+                  {"nome": "Tiramisu", "categoria": "Sobremesas", "descricao": "Tiramisu", "preco": "caro"}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/produtos/restaurante/{id}/importacao", restaurante.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(3))
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.totalErros").value(2))
+                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                .andExpect(jsonPath("$.erros[0].mensagem").value(containsString("preco")))
+                .andExpect(jsonPath("$.erros[1].linha").value(4));
+
+        List<Produto> produtos = produtoRepository.findByRestauranteId(restaurante.getId());
+        assertEquals(2, produtos.size());
+        Produto lasanha = produtoRepository.findById(produto.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("42.50").compareTo(lasanha.getPreco()));
+        assertEquals("Lasanha de quatro queijos", lasanha.getDescricao());
+    }
+
+    @Test
+    void deveImportarCsvComCamposEntreAspas() throws Exception {
+        String csv = "nome,categoria,descricao,preco\r\n"
+                + "Espaguete,Massas,\"Molho de tomate, manjericão e \"\"parmesão\"\"\",29.90\r\n"
+                + "\r\n"
+                + "Ravioli,Massas,Ravioli de ricota,abc\r\n";
+
+        mockMvc.perform(post("/api/produtos/restaurante/{id}/importacao", restaurante.getId())
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.totalErros").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(4));
+
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId()))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.nome == 'Espaguete')].descricao").value("Molho de tomate, manjericão e \"parmesão\""));
+    }
+
+    @Test
+    void deveRecusarNomeRepetidoNoMesmoRestaurante() throws Exception {
+        mockMvc.perform(post("/api/produtos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(produtoJson("Lasanha")))
+                .andExpect(status().isConflict());
+
+        Produto nhoque = produtoRepository.save(Produto.builder()
+                .nome("Nhoque").categoria("Massas").descricao("Nhoque ao sugo")
+                .preco(new BigDecimal("35.00")).disponivel(true).restaurante(restaurante).build());
+        mockMvc.perform(put("/api/produtos/{id}", nhoque.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(produtoJson("Lasanha")))
+                .andExpect(status().isConflict());
+
+        // Manter o próprio nome não é conflito
+        mockMvc.perform(put("/api/produtos/{id}", nhoque.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(produtoJson("Nhoque")))
+                .andExpect(status().isOk());
+    }
+
+    private String produtoJson(String nome) {
+        return """
+                {"restauranteId": %d, "nome": "%s", "categoria": "Massas", "descricao": "Prato da casa", "preco": 42.00}
+                """.formatted(restaurante.getId(), nome);
+    }
+}
@@ -0,0 +1,215 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.PedidoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:relatorio-controller-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class RelatorioControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto pizza;
+    private Produto refrigerante;
+    private String hoje;
+
+    // Cada teste usa um restaurante novo e filtra por ele: os resultados não se misturam nem vêm do cache de outro teste
+    @BeforeEach
+    void prepararDados() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Relatório").email("relatorio-" + System.nanoTime() + "@teste.com").ativo(true).build());
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Pizzaria Relatório").categoria("Pizza").ativo(true).build());
+        pizza = produtoRepository.save(Produto.builder()
+                .nome("Pizza Margherita").preco(new BigDecimal("40.00")).disponivel(true).restaurante(restaurante).build());
+        refrigerante = produtoRepository.save(Produto.builder()
+                .nome("Suco").preco(new BigDecimal("10.00")).disponivel(true).restaurante(restaurante).build());
+        hoje = LocalDate.now().toString();
+    }
+
+    @Test
+    void deveAgregarFaturamentoETicketSemPedidosCancelados() throws Exception {
+        criarPedido(1, 1);
+        criarPedido(2, 1);
+        long cancelado = criarPedido(5, 5);
+        pedidoService.atualizarStatus(cancelado, StatusPedido.CANCELADO);
+
+        // Totais dos pedidos válidos: 50 e 90 (sem taxa de entrega)
+        mockMvc.perform(get("/api/relatorios/faturamento-diario")
+                .param("inicio", hoje).param("fim", hoje).param("restauranteId", restaurante.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].dia").value(hoje))
+                .andExpect(jsonPath("$[0].restauranteNome").value("Pizzaria Relatório"))
+                .andExpect(jsonPath("$[0].pedidos").value(2))
+                .andExpect(jsonPath("$[0].faturamento").value(140.0))
+                .andExpect(jsonPath("$[0].ticketMedio").value(70.0));
+
+        mockMvc.perform(get("/api/relatorios/ticket-medio")
+                .param("inicio", hoje).param("fim", hoje).param("restauranteId", restaurante.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos").value(2))
+                .andExpect(jsonPath("$.ticketMedio").value(70.0));
+
+        mockMvc.perform(get("/api/relatorios/funil-status")
+                .param("inicio", hoje).param("fim", hoje).param("restauranteId", restaurante.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.CRIADO").value(2))
+                .andExpect(jsonPath("$.CANCELADO").value(1))
+                .andExpect(jsonPath("$.ENTREGUE").value(0));
+    }
+
+    @Test
+    void deveOrdenarProdutosPelaQuantidadeVendida() throws Exception {
+        criarPedido(1, 3);
+        criarPedido(1, 2);
+
+        mockMvc.perform(get("/api/relatorios/produtos-mais-vendidos")
+                .param("inicio", hoje).param("fim", hoje).param("restauranteId", restaurante.getId().toString())
+                .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].produtoId").value(refrigerante.getId()))
+                .andExpect(jsonPath("$[0].quantidade").value(5))
+                .andExpect(jsonPath("$[0].faturamento").value(50.0));
+    }
+
+    @Test
+    void deveExportarPedidosEmCsvComUmaLinhaPorItem() throws Exception {
+        long pedidoId = criarPedido(2, 1);
+
+        MvcResult resultado = mockMvc.perform(get("/api/relatorios/pedidos/exportacao")
+                .param("inicio", hoje).param("fim", hoje))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("pedidos-" + hoje + "-" + hoje + ".csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> linhas = csv.lines().toList();
+        assertTrue(linhas.get(0).startsWith("pedido_id,data_pedido,status"));
+        List<String> doPedido = linhas.stream().filter(l -> l.startsWith(pedidoId + ",")).toList();
+        assertEquals(2, doPedido.size());
+        assertTrue(doPedido.get(0).endsWith("," + pizza.getId() + ",2,40.00"));
+        assertTrue(doPedido.get(1).endsWith("," + refrigerante.getId() + ",1,10.00"));
+    }
+
+    @Test
+    void deveExportarPedidosEmNdjsonComUmPedidoPorLinha() throws Exception {
+        long pedidoId = criarPedido(1, 3);
+
+        MvcResult resultado = mockMvc.perform(get("/api/relatorios/pedidos/exportacao")
+                .param("inicio", hoje).param("fim", hoje).param("formato", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode pedido = null;
+        for (String linha : ndjson.lines().toList()) {
+            JsonNode node = objectMapper.readTree(linha);
+            if (node.get("id").asLong() == pedidoId) {
+                pedido = node;
+            }
+        }
+        assertNotNull(pedido);
+        assertEquals(restaurante.getId(), pedido.get("restauranteId").asLong());
+        assertEquals(2, pedido.get("itens").size());
+        assertEquals(3, pedido.get("itens").get(1).get("quantidade").asInt());
+    }
+
+    @Test
+    void deveRejeitarPeriodoInvalido() throws Exception {
+        mockMvc.perform(get("/api/relatorios/ticket-medio").param("inicio", "2026-02-01").param("fim", "2026-01-01"))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(get("/api/relatorios/ticket-medio").param("inicio", "2024-01-01").param("fim", "2026-01-01"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_CLIENTE")
+    void relatoriosSaoRestritosAoAdmin() throws Exception {
+        mockMvc.perform(get("/api/relatorios/ticket-medio").param("inicio", hoje).param("fim", hoje))
+                .andExpect(status().isForbidden());
+    }
+
+    private long criarPedido(int pizzas, int refrigerantes) throws Exception {
+        String json = """
+                {
+                  "clienteId": %d,
+                  "restauranteId": %d,
+                  "enderecoEntrega": {"rua": "Rua A", "numero": "10", "bairro": "Centro", "cidade": "Recife", "estado": "PE", "cep": "50000-000"},
+                  "itens": [
+                    {"produtoId": %d, "quantidade": %d},
+                    {"produtoId": %d, "quantidade": %d}
+                  ]
+                }
+                """.formatted(cliente.getId(), restaurante.getId(), pizza.getId(), pizzas, refrigerante.getId(), refrigerantes);
+        String resposta = mockMvc.perform(post("/api/pedidos")
+                .with(user("cliente").authorities(new SimpleGrantedAuthority("ROLE_CLIENTE")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+}
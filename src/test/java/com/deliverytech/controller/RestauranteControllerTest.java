@@ -0,0 +1,182 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.CursorResponse;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:restaurante-controller-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class RestauranteControllerTest {
+
+    // ~1 km de latitude
+    private static final double UM_KM = 1 / 111.195;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    // Cada teste usa uma região própria para não encontrar os restaurantes dos outros testes
+    @Test
+    void deveOrdenarPeloTempoEstimadoOuPelaDistancia() throws Exception {
+        double lat = -23.55, lon = -46.63;
+        long perto = cadastrar("Cantina da Esquina", 60, lat + UM_KM, lon);
+        long rapido = cadastrar("Lanchonete Expressa", 20, lat + 3 * UM_KM, lon);
+        cadastrar("Pizzaria Distante", 10, lat + 10 * UM_KM, lon);
+        cadastrar("Restaurante sem endereço", 10, null, null);
+
+        // Tempo estimado: 60 + 3 min/km x 1 km = 63 contra 20 + 3 x 3 km = 29
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(rapido))
+                .andExpect(jsonPath("$[0].tempoEstimadoMinutos").value(29))
+                .andExpect(jsonPath("$[0].distanciaKm").value(3.0))
+                .andExpect(jsonPath("$[1].id").value(perto));
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon)
+                        .param("ordem", "DISTANCIA").param("raioKm", "20").param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(perto))
+                .andExpect(jsonPath("$[1].id").value(rapido));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_CLIENTE")
+    void clientePodeBuscarRestaurantesProximos() throws Exception {
+        double lat = -22.90, lon = -43.17;
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void restauranteAtualizadoMudaDePosicaoNoIndice() throws Exception {
+        double lat = -19.92, lon = -43.94;
+        long id = cadastrar("Boteco Mineiro", 30, lat, lon + 40 * UM_KM);
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(put("/api/restaurantes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("Boteco Mineiro", 30, lat, lon)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].distanciaKm").value(0.0));
+    }
+
+    @Test
+    void atualizacaoSemCoordenadasMantemORestauranteNoIndice() throws Exception {
+        double lat = -25.43, lon = -49.27;
+        long id = cadastrar("Bistrô Curitibano", 30, lat, lon);
+
+        mockMvc.perform(put("/api/restaurantes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("Bistrô Curitibano Renovado", 25, null, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(lat))
+                .andExpect(jsonPath("$.longitude").value(lon));
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "" + lat).param("lon", "" + lon))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id));
+    }
+
+    @Test
+    void deveRecusarRaioOuCoordenadasInvalidos() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "-23.5").param("lon", "-46.6").param("raioKm", "500"))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(get("/api/restaurantes/proximos").param("lat", "95").param("lon", "-46.6"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void devePercorrerRestaurantesPorCursorAteAUltimaPagina() throws Exception {
+        List<Restaurante> restaurantes = restauranteRepository.saveAll(List.of(
+                novoRestaurante("Cursor 1"), novoRestaurante("Cursor 2"), novoRestaurante("Cursor 3")));
+        String inicio = CursorResponse.codificar(restaurantes.get(0).getId() - 1);
+
+        String primeiraPagina = mockMvc.perform(get("/api/restaurantes/cursor").param("after", inicio).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(2)))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Cursor 1"))
+                .andExpect(jsonPath("$.conteudo[1].nome").value("Cursor 2"))
+                .andExpect(jsonPath("$.temMais").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String proximo = JsonPath.read(primeiraPagina, "$.proximoCursor");
+
+        mockMvc.perform(get("/api/restaurantes/cursor").param("after", proximo).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Cursor 3"))
+                .andExpect(jsonPath("$.temMais").value(false))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+    }
+
+    @Test
+    void deveLimitarATamanhoMaximoDaPaginaPorCursor() throws Exception {
+        List<Restaurante> restaurantes = restauranteRepository.saveAll(IntStream.rangeClosed(1, 101)
+                .mapToObj(i -> novoRestaurante("Limite " + i)).toList());
+
+        mockMvc.perform(get("/api/restaurantes/cursor")
+                        .param("after", CursorResponse.codificar(restaurantes.get(0).getId() - 1))
+                        .param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(100)))
+                .andExpect(jsonPath("$.temMais").value(true));
+    }
+
+    @Test
+    void deveRecusarCursorMalformado() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/cursor").param("after", "nao-e-um-cursor!"))
+                .andExpect(status().isUnprocessableEntity());
+        // Base64 de "id:abc": o prefixo existe, mas o ID não é numérico
+        mockMvc.perform(get("/api/restaurantes/cursor").param("after", "aWQ6YWJj"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private Restaurante novoRestaurante(String nome) {
+        return Restaurante.builder().nome(nome).categoria("Cursor").ativo(true).build();
+    }
+
+    private long cadastrar(String nome, int tempoEntrega, Double latitude, Double longitude) throws Exception {
+        String resposta = mockMvc.perform(post("/api/restaurantes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(nome, tempoEntrega, latitude, longitude)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.parse(resposta).read("$.id", Long.class);
+    }
+
+    private String json(String nome, int tempoEntrega, Double latitude, Double longitude) {
+        return """
+                {"nome": "%s", "categoria": "Variada", "telefone": "11999990000", "taxaEntrega": 5.00,
+                 "tempoEntregaMinutos": %d, "latitude": %s, "longitude": %s}
+                """.formatted(nome, tempoEntrega, latitude, longitude);
+    }
+}
@@ -0,0 +1,75 @@
+package com.deliverytech.security;
+
+import com.deliverytech.model.Role;
+import com.deliverytech.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final AtomicInteger consultasAoBanco = new AtomicInteger();
+    private final UserDetailsService userDetailsService = username -> {
+        consultasAoBanco.incrementAndGet();
+        throw new AssertionError("O filtro não deveria consultar o banco para " + username);
+    };
+    private final JwtAuthenticationFilter filtro = new JwtAuthenticationFilter(jwtUtil, userDetailsService, 100);
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveAutenticarPelasClaimsSemConsultarOBanco() throws Exception {
+        String token = gerarToken("restaurante@teste.com", Role.RESTAURANTE);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filtro.doFilter(requisicao("Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+            Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+            assertNotNull(autenticacao);
+            assertEquals("restaurante@teste.com", autenticacao.getName());
+            assertEquals("ROLE_RESTAURANTE", autenticacao.getAuthorities().iterator().next().getAuthority());
+            // O restaurante do usuário vem da claim e é usado na autorização dos streams de pedidos
+            assertEquals(7L, ((UsuarioAutenticado) autenticacao.getPrincipal()).getRestauranteId());
+        }
+        assertEquals(0, consultasAoBanco.get());
+        assertSame(filtro.verificar(token), filtro.verificar(token));
+    }
+
+    @Test
+    void naoDeveAutenticarTokenComAssinaturaInvalida() throws Exception {
+        String token = gerarToken("cliente@teste.com", Role.CLIENTE);
+        int posicao = token.lastIndexOf('.') + 5;
+        char trocado = token.charAt(posicao) == 'A' ? 'B' : 'A';
+        String adulterado = token.substring(0, posicao) + trocado + token.substring(posicao + 1);
+
+        filtro.doFilter(requisicao("Bearer " + adulterado), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private String gerarToken(String email, Role role) {
+        Usuario usuario = Usuario.builder().id(1L).email(email).role(role).restauranteId(role == Role.RESTAURANTE ? 7L : null).build();
+        return jwtUtil.generateToken(User.withUsername(email).password("x").authorities("ROLE_" + role).build(), usuario);
+    }
+
+    private MockHttpServletRequest requisicao(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos/1");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
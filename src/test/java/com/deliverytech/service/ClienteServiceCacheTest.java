@@ -0,0 +1,74 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Cliente;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cliente-cache-test;DB_CLOSE_DELAY=-1")
+public class ClienteServiceCacheTest {
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void deveGuardarClienteCadastradoPorIdEPorEmail() {
+        Cliente salvo = clienteService.cadastrar(novoCliente());
+
+        assertNotNull(cacheManager.getCache("clientes").get(salvo.getId()));
+        assertNotNull(cacheManager.getCache("clientesPorEmail").get(salvo.getEmail()));
+    }
+
+    @Test
+    void deveAtualizarEntradaEDescartarListagensAoAtualizar() {
+        Cliente salvo = clienteService.cadastrar(novoCliente());
+        Pageable pagina = PageRequest.of(0, 10);
+        clienteService.listarAtivos(pagina);
+        String chavePagina = pagina.getPageNumber() + ":" + pagina.getPageSize() + ":" + pagina.getSort();
+        assertNotNull(cacheManager.getCache("clientesPaginados").get(chavePagina));
+
+        clienteService.atualizar(salvo.getId(), Cliente.builder().nome("Nome Atualizado").build());
+
+        assertNull(cacheManager.getCache("clientesPaginados").get(chavePagina));
+        Cliente emCache = (Cliente) cacheManager.getCache("clientes").get(salvo.getId()).get();
+        assertEquals("Nome Atualizado", emCache.getNome());
+        assertEquals("Nome Atualizado", clienteService.buscarPorEmail(salvo.getEmail()).orElseThrow().getNome());
+    }
+
+    @Test
+    void deveExportarAcertosPorCache() {
+        Cliente salvo = clienteService.cadastrar(novoCliente());
+        double antes = acertos("clientes");
+
+        clienteService.buscarPorId(salvo.getId());
+
+        assertEquals(antes + 1, acertos("clientes"));
+    }
+
+    private double acertos(String cache) {
+        FunctionCounter contador = meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter();
+        assertNotNull(contador, "Métrica cache.gets não registrada para o cache " + cache);
+        return contador.count();
+    }
+
+    private Cliente novoCliente() {
+        return Cliente.builder()
+                .nome("Cliente Cache")
+                .email("cache-" + System.nanoTime() + "@teste.com")
+                .ativo(true)
+                .build();
+    }
+}
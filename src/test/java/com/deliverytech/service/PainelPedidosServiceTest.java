@@ -0,0 +1,66 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.PedidoAtivoResponse;
+import com.deliverytech.event.StatusPedidoAlteradoEvent;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.impl.PainelPedidosServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PainelPedidosServiceTest {
+
+    private static final long RESTAURANTE = 1L;
+
+    // Sem o repositório: o painel começa vazio e é montado só pelos eventos
+    private final PainelPedidosServiceImpl painel = new PainelPedidosServiceImpl(null);
+
+    @Test
+    void criadoQueChegaDepoisDoCanceladoNaoVoltaAoPainel() {
+        painel.aoAlterarStatus(evento(10L, StatusPedido.CANCELADO));
+        painel.aoAlterarStatus(evento(10L, StatusPedido.CRIADO));
+
+        assertTrue(ativos().values().stream().allMatch(List::isEmpty), ativos().toString());
+    }
+
+    @Test
+    void eventosAtrasadosDeUmPedidoEntregueSaoIgnorados() {
+        painel.aoAlterarStatus(evento(20L, StatusPedido.CRIADO));
+        painel.aoAlterarStatus(evento(20L, StatusPedido.ENTREGUE));
+        painel.aoAlterarStatus(evento(20L, StatusPedido.ENVIADO));
+        painel.aoAlterarStatus(evento(21L, StatusPedido.CRIADO));
+
+        Map<StatusPedido, List<PedidoAtivoResponse>> ativos = ativos();
+        assertTrue(ativos.get(StatusPedido.ENVIADO).isEmpty());
+        assertEquals(List.of(21L), ativos.get(StatusPedido.CRIADO).stream().map(PedidoAtivoResponse::getId).toList());
+    }
+
+    @Test
+    void eventoSemRestauranteUsaORestauranteJaConhecidoPeloPainel() {
+        painel.aoAlterarStatus(evento(30L, StatusPedido.CRIADO));
+        assertEquals(Optional.of(RESTAURANTE), painel.restauranteDoPedido(30L));
+
+        painel.aoAlterarStatus(new StatusPedidoAlteradoEvent(30L, null, StatusPedido.CONFIRMADO, LocalDateTime.now()));
+        assertEquals(List.of(30L), ativos().get(StatusPedido.CONFIRMADO).stream().map(PedidoAtivoResponse::getId).toList());
+
+        // Pedido finalizado sai do índice; desconhecido ainda deixa a marca do status final
+        painel.aoAlterarStatus(new StatusPedidoAlteradoEvent(30L, null, StatusPedido.CANCELADO, LocalDateTime.now()));
+        painel.aoAlterarStatus(new StatusPedidoAlteradoEvent(31L, null, StatusPedido.CANCELADO, LocalDateTime.now()));
+        painel.aoAlterarStatus(evento(31L, StatusPedido.CRIADO));
+        assertEquals(Optional.empty(), painel.restauranteDoPedido(30L));
+        assertTrue(ativos().values().stream().allMatch(List::isEmpty), ativos().toString());
+    }
+
+    private Map<StatusPedido, List<PedidoAtivoResponse>> ativos() {
+        return painel.pedidosAtivos(RESTAURANTE);
+    }
+
+    private StatusPedidoAlteradoEvent evento(Long pedidoId, StatusPedido status) {
+        return new StatusPedidoAlteradoEvent(pedidoId, RESTAURANTE, status, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,76 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoAsyncResponse;
+import com.deliverytech.exception.SobrecargaException;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.service.impl.PedidoAsyncServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PedidoAsyncServiceTest {
+
+    @Test
+    void deveRecusarPedidoQuandoAFilaEstaCheia() {
+        // Sem escritores: nada é consumido e a fila de capacidade 2 enche no segundo pedido
+        PedidoAsyncServiceImpl servico = new PedidoAsyncServiceImpl(null, null, null, null,
+                new SimpleMeterRegistry(), 2, 0, 10, Duration.ofMinutes(1), Duration.ofSeconds(20));
+        servico.start();
+
+        PedidoAsyncResponse primeiro = servico.enfileirar(novoPedido());
+        servico.enfileirar(novoPedido());
+
+        SobrecargaException erro = assertThrows(SobrecargaException.class, () -> servico.enfileirar(novoPedido()));
+        assertEquals(1, erro.getSegundosParaNovaTentativa());
+        assertEquals(PedidoAsyncResponse.Situacao.PENDENTE, servico.consultar(primeiro.getProtocolo()).orElseThrow().getSituacao());
+    }
+
+    @Test
+    void paradaEsperaOsEscritoresNoMaximoPeloPrazo() throws Exception {
+        // O escritor fica preso na transação até ser interrompido
+        CountDownLatch gravando = new CountDownLatch(1);
+        TransactionTemplate transacaoPresa = mock(TransactionTemplate.class);
+        when(transacaoPresa.execute(any())).thenAnswer(invocacao -> {
+            gravando.countDown();
+            Thread.sleep(60_000);
+            return null;
+        });
+        PedidoAsyncServiceImpl servico = new PedidoAsyncServiceImpl(null, null, null, transacaoPresa,
+                new SimpleMeterRegistry(), 10, 1, 10, Duration.ofMinutes(1), Duration.ofMillis(300));
+        servico.start();
+        servico.enfileirar(novoPedido());
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+
+        long inicio = System.nanoTime();
+        servico.stop();
+
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(servico.isRunning());
+    }
+
+    @Test
+    void escritoresParamDepoisDoServidorWeb() {
+        PedidoAsyncServiceImpl servico = new PedidoAsyncServiceImpl(null, null, null, null,
+                new SimpleMeterRegistry(), 2, 0, 10, Duration.ofMinutes(1), Duration.ofSeconds(20));
+
+        // Servidor web do Spring Boot: DEFAULT_PHASE - 2048 (start/stop) e DEFAULT_PHASE - 1024 (parada graciosa)
+        assertTrue(servico.getPhase() < SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private PedidoRequest novoPedido() {
+        return new PedidoRequest(1L, 1L, new Endereco(), List.of(new ItemPedidoRequest(1L, 1)));
+    }
+}